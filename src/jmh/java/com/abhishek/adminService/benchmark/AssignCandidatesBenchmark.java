@@ -0,0 +1,130 @@
+package com.abhishek.adminService.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.abhishek.adminService.dto.AssignmentResult;
+import com.abhishek.adminService.model.Test;
+import com.abhishek.adminService.model.TestAssignment;
+import com.abhishek.adminService.repository.TestAssignmentRepository;
+import com.abhishek.adminService.repository.TestAssignmentRepositoryCustomImpl;
+import com.abhishek.adminService.repository.TestRepository;
+import com.abhishek.adminService.service.TestPaperService;
+import com.abhishek.adminService.service.TestService;
+import com.abhishek.adminService.service.UserDirectoryService;
+import com.abhishek.adminService.service.publisher.NotificationPublisher;
+import com.abhishek.adminService.service.scheduler.TestLifecycleScheduler;
+import com.mongodb.bulk.BulkWriteResult;
+import io.micrometer.observation.ObservationRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * In-process cost of {@link TestService#assignCandidates(String, List, String)}: chunking, the per-chunk
+ * {@code distinct()} and building one {@link TestAssignment} per candidate. Mongo is replaced by a bulk
+ * operation that records the inserted IDs in a set, standing in for the unique index that rejects
+ * candidates repeated across chunks, so round trips to the database are not part of the score.
+ * One in ten candidate IDs is a repeat.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AssignCandidatesBenchmark {
+
+    private static final String TEST_ID = "test-1";
+
+    @Param({"1000", "100000", "1000000"})
+    private int candidates;
+
+    private TestService testService;
+    private List<String> candidateIds;
+    private Set<String> uniqueIndex;
+    private int insertedInBulk;
+
+    @Setup
+    public void setUp() {
+        ((Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+
+        int distinct = candidates - candidates / 10;
+        candidateIds = new ArrayList<>(candidates);
+        for (int i = 0; i < candidates; i++) {
+            candidateIds.add("candidate-" + (i % distinct));
+        }
+
+        // a plain proxy rather than a mock, which would cost more per insert than the code under test
+        BulkOperations bulk = (BulkOperations) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{BulkOperations.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "insert" -> {
+                        if (uniqueIndex.add(((TestAssignment) args[0]).getId())) {
+                            insertedInBulk++;
+                        }
+                        yield proxy;
+                    }
+                    case "execute" -> {
+                        BulkWriteResult result = BulkWriteResult.acknowledged(insertedInBulk, 0, 0, 0, List.of(), List.of());
+                        insertedInBulk = 0;
+                        yield result;
+                    }
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class, withSettings().stubOnly());
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TestAssignment.class)).thenReturn(bulk);
+        TestAssignmentRepositoryCustomImpl assignments = new TestAssignmentRepositoryCustomImpl(mongoTemplate);
+
+        TestAssignmentRepository assignmentRepository = mock(TestAssignmentRepository.class, withSettings().stubOnly());
+        when(assignmentRepository.assign(anyString(), anyCollection())).thenAnswer(invocation ->
+                assignments.assign(invocation.getArgument(0), invocation.getArgument(1)));
+
+        Test test = new Test();
+        test.setId(TEST_ID);
+        TestRepository testRepository = mock(TestRepository.class, withSettings().stubOnly());
+        when(testRepository.findById(TEST_ID)).thenReturn(Optional.of(test));
+
+        // no users resolve, so no notification is built
+        UserDirectoryService userDirectoryService = mock(UserDirectoryService.class, withSettings().stubOnly());
+        when(userDirectoryService.getUsers(anyCollection(), any())).thenReturn(Map.of());
+
+        testService = new TestService(testRepository, assignmentRepository,
+                mock(NotificationPublisher.class, withSettings().stubOnly()), userDirectoryService,
+                mock(TestPaperService.class, withSettings().stubOnly()),
+                mock(TestLifecycleScheduler.class, withSettings().stubOnly()), ObservationRegistry.NOOP);
+        ReflectionTestUtils.setField(testService, "assignmentChunkSize", 1000);
+    }
+
+    @Benchmark
+    public AssignmentResult assign() {
+        uniqueIndex = new HashSet<>();
+        return testService.assignCandidates(TEST_ID, candidateIds, "token");
+    }
+}
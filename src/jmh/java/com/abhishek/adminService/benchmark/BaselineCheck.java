@@ -0,0 +1,76 @@
+package com.abhishek.adminService.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares a JMH JSON result with the checked-in baseline and prints the change of every benchmark
+ * present in both. Changes for the worse beyond the tolerance are flagged as regressions.
+ * <p>
+ * Arguments: {@code <baseline.json> <result.json> <tolerance, e.g. 0.25> <fail on regression>}.
+ * Scores from different machines are not comparable, so refresh the baseline on the machine that
+ * runs the comparison (see the {@code jmh} profile in the POM).
+ */
+public final class BaselineCheck {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private BaselineCheck() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        File baselineFile = new File(args[0]);
+        File resultFile = new File(args[1]);
+        double tolerance = Double.parseDouble(args[2]);
+        boolean failOnRegression = Boolean.parseBoolean(args[3]);
+        if (!baselineFile.isFile() || !resultFile.isFile()) {
+            System.out.printf("No comparison: %s or %s is missing%n", baselineFile, resultFile);
+            return;
+        }
+
+        Map<String, JsonNode> baseline = read(baselineFile);
+        Map<String, JsonNode> result = read(resultFile);
+        int regressions = 0;
+        System.out.printf("%-90s %14s %14s %8s%n", "Benchmark", "Baseline", "Current", "Change");
+        for (Map.Entry<String, JsonNode> entry : result.entrySet()) {
+            JsonNode before = baseline.get(entry.getKey());
+            if (before == null) {
+                continue;
+            }
+            JsonNode after = entry.getValue();
+            double baseScore = before.path("primaryMetric").path("score").asDouble();
+            double score = after.path("primaryMetric").path("score").asDouble();
+            double change = (score - baseScore) / baseScore;
+            // throughput gets worse as it drops, every other mode as the time grows
+            double worse = "thrpt".equals(after.path("mode").asText()) ? -change : change;
+            boolean regression = worse > tolerance;
+            regressions += regression ? 1 : 0;
+            System.out.printf("%-90s %14.3f %14.3f %+7.1f%% %s%s%n", entry.getKey(), baseScore, score, change * 100,
+                    after.path("primaryMetric").path("scoreUnit").asText(), regression ? "  REGRESSION" : "");
+        }
+
+        System.out.printf("%d regression(s) beyond %.0f%%%n", regressions, tolerance * 100);
+        if (regressions > 0 && failOnRegression) {
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, JsonNode> read(File file) throws IOException {
+        Map<String, JsonNode> runs = new LinkedHashMap<>();
+        for (JsonNode run : MAPPER.readTree(file)) {
+            StringBuilder key = new StringBuilder(run.path("benchmark").asText()
+                    .replace("com.abhishek.adminService.benchmark.", ""));
+            Map<String, String> params = new TreeMap<>();
+            run.path("params").fields().forEachRemaining(param -> params.put(param.getKey(), param.getValue().asText()));
+            params.forEach((name, value) -> key.append(' ').append(name).append('=').append(value));
+            runs.put(key.toString(), run);
+        }
+        return runs;
+    }
+}
@@ -0,0 +1,124 @@
+package com.abhishek.adminService.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.abhishek.adminService.config.JmsConfig;
+import com.abhishek.adminService.dto.event.TestAssignedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.jms.Connection;
+import jakarta.jms.Message;
+import jakarta.jms.Session;
+import jakarta.jms.TextMessage;
+import org.apache.activemq.artemis.api.core.client.ActiveMQClient;
+import org.apache.activemq.artemis.core.config.impl.ConfigurationImpl;
+import org.apache.activemq.artemis.core.remoting.impl.invm.InVMConnector;
+import org.apache.activemq.artemis.core.server.embedded.EmbeddedActiveMQ;
+import org.apache.activemq.artemis.jms.client.ActiveMQConnectionFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+import org.springframework.jms.support.converter.MessageConverter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of turning a {@link TestAssignedEvent} into a JMS message and back with the
+ * {@link JmsConfig} converter. {@code outboxMessage} is the path events take today: serialized when
+ * written to the outbox, then wrapped in a text message by the relay. Messages are created on an
+ * in-VM Artemis session but never sent.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JmsMessageConverterBenchmark {
+
+    @Param({"1", "100"})
+    private int candidates;
+
+    private EmbeddedActiveMQ broker;
+    private ActiveMQConnectionFactory connectionFactory;
+    private Connection connection;
+    private Session session;
+    private MessageConverter converter;
+    private ObjectMapper eventObjectMapper;
+    private TestAssignedEvent event;
+    private Message encoded;
+
+    @Setup
+    public void setUp() throws Exception {
+        ((Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+        broker = new EmbeddedActiveMQ().setConfiguration(new ConfigurationImpl()
+                .setPersistenceEnabled(false)
+                .setSecurityEnabled(false)
+                .addAcceptorConfiguration("in-vm", "vm://0"));
+        broker.start();
+        connectionFactory = new ActiveMQConnectionFactory("vm://0");
+        connection = connectionFactory.createConnection();
+        session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+
+        converter = new JmsConfig().jacksonJmsMessageConverter();
+        eventObjectMapper = JmsConfig.eventObjectMapper();
+
+        event = new TestAssignedEvent();
+        event.setTestId("652f1c0e8b1e4a6d2c000001");
+        event.setTestName("Java fundamentals");
+        event.setStartTime(LocalDateTime.of(2025, 1, 1, 9, 0));
+        event.setEndTime(LocalDateTime.of(2025, 1, 1, 11, 0));
+        event.setDurationMinutes(60);
+        event.setTestLink("http://localhost:3000/test/652f1c0e8b1e4a6d2c000001");
+        List<TestAssignedEvent.CandidateInfo> infos = new ArrayList<>(candidates);
+        for (int i = 0; i < candidates; i++) {
+            TestAssignedEvent.CandidateInfo info = new TestAssignedEvent.CandidateInfo();
+            info.setId("candidate-" + i);
+            info.setName("Candidate " + i);
+            info.setEmail("candidate" + i + "@example.com");
+            infos.add(info);
+        }
+        event.setCandidates(infos);
+        encoded = converter.toMessage(event, session);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        connection.close();
+        connectionFactory.close();
+        broker.stop();
+        // the client's shared thread pools would otherwise keep the forked VM alive
+        ActiveMQClient.clearThreadPools();
+        InVMConnector.resetThreadPool();
+    }
+
+    @Benchmark
+    public Message converterToMessage() throws Exception {
+        return converter.toMessage(event, session);
+    }
+
+    @Benchmark
+    public Message outboxMessage() throws Exception {
+        TextMessage message = session.createTextMessage(eventObjectMapper.writeValueAsString(event));
+        message.setStringProperty(JmsConfig.TYPE_ID_PROPERTY, TestAssignedEvent.class.getName());
+        message.setStringProperty("_AMQ_DUPL_ID", "652f1c0e8b1e4a6d2c000002");
+        return message;
+    }
+
+    @Benchmark
+    public Object converterFromMessage() throws Exception {
+        return converter.fromMessage(encoded);
+    }
+}
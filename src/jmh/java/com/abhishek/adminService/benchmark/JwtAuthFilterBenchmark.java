@@ -0,0 +1,123 @@
+package com.abhishek.adminService.benchmark;
+
+import com.abhishek.adminService.security.JwtAuthFilter;
+import com.abhishek.adminService.security.VerifiedTokenCache;
+import com.abhishek.adminService.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Encoders;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+
+import javax.crypto.SecretKey;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of authenticating a bearer token in {@link JwtAuthFilter}.
+ * <p>
+ * {@code parseClaims} is the bare signature check of {@link JwtUtil#parseClaims(String)},
+ * {@code cachedToken} is the steady state of a candidate who keeps sending the same token,
+ * {@code uncachedToken} runs the same filter with the cache disabled, and {@code perRequestParser}
+ * repeats what the filter did before tokens were cached: a new parser, fresh authorities and a new
+ * details source on every request. Run with {@code -prof gc} to see allocations per call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthFilterBenchmark {
+
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> {
+    };
+
+    private SecretKey key;
+    private JwtUtil jwtUtil;
+    private JwtAuthFilter cachingFilter;
+    private JwtAuthFilter nonCachingFilter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        key = Keys.hmacShaKeyFor(secret);
+        jwtUtil = new JwtUtil(Encoders.BASE64.encode(secret));
+
+        cachingFilter = new JwtAuthFilter(
+                new VerifiedTokenCache(jwtUtil, 10_000, Duration.ofMinutes(5), new SimpleMeterRegistry()));
+        nonCachingFilter = new JwtAuthFilter(
+                new VerifiedTokenCache(jwtUtil, 10_000, Duration.ZERO, new SimpleMeterRegistry()));
+
+        token = Jwts.builder()
+                .subject("candidate-1")
+                .claim("roles", List.of("CANDIDATE"))
+                .expiration(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1)))
+                .signWith(key)
+                .compact();
+        request = new MockHttpServletRequest("GET", "/admin/tests");
+        request.addHeader("Authorization", "Bearer " + token);
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public Claims parseClaims() {
+        return jwtUtil.parseClaims(token);
+    }
+
+    @Benchmark
+    public Object cachedToken() throws Exception {
+        return filter(cachingFilter);
+    }
+
+    @Benchmark
+    public Object uncachedToken() throws Exception {
+        return filter(nonCachingFilter);
+    }
+
+    @Benchmark
+    public void perRequestParser(Blackhole blackhole) {
+        Claims claims = (Claims) Jwts.parser().verifyWith(key).build().parse(token).getPayload();
+        List<SimpleGrantedAuthority> authorities = ((List<?>) claims.get("roles")).stream()
+                .map(Object::toString)
+                .map(role -> new SimpleGrantedAuthority("ROLE_" + role))
+                .toList();
+        UsernamePasswordAuthenticationToken authentication =
+                new UsernamePasswordAuthenticationToken(claims.getSubject(), null, authorities);
+        authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        blackhole.consume(authentication);
+    }
+
+    private Object filter(JwtAuthFilter filter) throws Exception {
+        filter.doFilter(request, response, NO_OP_CHAIN);
+        Object authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+}
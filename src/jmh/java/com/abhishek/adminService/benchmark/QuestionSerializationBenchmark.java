@@ -0,0 +1,100 @@
+package com.abhishek.adminService.benchmark;
+
+import com.abhishek.adminService.dto.ApiResponse;
+import com.abhishek.adminService.model.Question;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of writing an {@code ApiResponse<List<Question>>} body, as the question endpoints return it.
+ * {@code objectMapper} goes through the mapper like the HTTP message converter does; {@code typedWriter}
+ * reuses an {@link ObjectWriter} bound to the response type.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QuestionSerializationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int questions;
+
+    private ObjectMapper objectMapper;
+    private ObjectWriter typedWriter;
+    private ApiResponse<List<Question>> response;
+    private ByteArrayOutputStream out;
+
+    @Setup
+    public void setUp() {
+        // configured like Spring Boot's auto-configured mapper
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        typedWriter = objectMapper.writerFor(new TypeReference<ApiResponse<List<Question>>>() {
+        });
+
+        List<Question> data = new ArrayList<>(questions);
+        for (int i = 0; i < questions; i++) {
+            data.add(question(i));
+        }
+        response = ApiResponse.<List<Question>>builder()
+                .message("Questions fetched successfully")
+                .data(data)
+                .build();
+        out = new ByteArrayOutputStream(1 << 20);
+    }
+
+    @Benchmark
+    public int objectMapper() throws IOException {
+        out.reset();
+        objectMapper.writeValue(out, response);
+        return out.size();
+    }
+
+    @Benchmark
+    public int typedWriter() throws IOException {
+        out.reset();
+        typedWriter.writeValue(out, response);
+        return out.size();
+    }
+
+    private static Question question(int i) {
+        Question question = new Question();
+        question.setId("652f1c0e8b1e4a6d2c0000" + String.format("%02x", i % 256));
+        question.setCategoryId("category-" + (i % 20));
+        question.setDifficulty("MEDIUM");
+        question.setText("Which of the following statements about question " + i + " is correct?");
+        List<Question.Option> options = new ArrayList<>(4);
+        for (char id = 'a'; id <= 'd'; id++) {
+            Question.Option option = new Question.Option();
+            option.setId(String.valueOf(id));
+            option.setText("Option " + id + " of question " + i);
+            options.add(option);
+        }
+        question.setOptions(options);
+        question.setCorrectOptionId("b");
+        question.setCreatedAt(Instant.parse("2025-01-01T00:00:00Z"));
+        question.setCreatedBy("admin");
+        return question;
+    }
+}
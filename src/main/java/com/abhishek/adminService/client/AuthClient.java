@@ -6,11 +6,22 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.web.client.RestClient;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -18,28 +29,133 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class AuthClient {
 
-    private final RestClient restClient;
+    private final RestClient authRestClient;
+    private final DownstreamGuard authGuard;
+    private final AsyncTaskExecutor applicationTaskExecutor;
 
     @Value("${auth-service.url:http://localhost:8081/auth}")
     private String authServiceUrl;
 
+    @Value("${auth-service.batch-path:/users/batch}")
+    private String batchPath;
+
+    @Value("${auth-service.batch-size:200}")
+    private int batchSize;
+
+    @Value("${auth-service.batch-parallelism:4}")
+    private int batchParallelism;
+
+    @Value("${auth-service.batch-retry-after:PT5M}")
+    private Duration batchRetryAfter;
+
+    private volatile Instant batchUnavailableUntil = Instant.MIN;
+
     public Map<String, UserDTO> fetchUsersMap(String bearerToken) {
-        log.debug("Fetching all users from auth-service");
         try {
-            ApiResponse<List<UserDTO>> response = restClient.get()
-                    .uri(authServiceUrl + "/users")
-                    .header("Authorization", "Bearer " + bearerToken)
-                    .retrieve()
-                    .body(new ParameterizedTypeReference<>() {
-                    });
-
-            if (response != null && response.getData() != null) {
-                return response.getData().stream()
-                        .collect(Collectors.toMap(UserDTO::getId, user -> user));
-            }
+            return fetchAllUsers(bearerToken);
         } catch (Exception e) {
             log.error("Failed to fetch users from auth-service", e);
         }
         return Map.of();
     }
+
+    /**
+     * Looks up only the given users, in chunks of {@code auth-service.batch-size} spread over
+     * {@code auth-service.batch-parallelism} concurrent requests. Falls back to downloading the full
+     * user list when auth-service does not offer the batch endpoint.
+     * <p>
+     * Unlike {@link #fetchUsersMap(String)} failures are propagated, so callers can tell an unknown
+     * user apart from an unreachable auth-service.
+     */
+    public Map<String, UserDTO> fetchUsersByIds(Collection<String> userIds, String bearerToken) {
+        if (userIds.isEmpty()) {
+            return Map.of();
+        }
+        if (Instant.now().isBefore(batchUnavailableUntil)) {
+            return fetchUsersFromFullList(userIds, bearerToken);
+        }
+
+        List<String> ids = userIds.stream().distinct().toList();
+        List<List<String>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += batchSize) {
+            chunks.add(ids.subList(from, Math.min(from + batchSize, ids.size())));
+        }
+        log.debug("Fetching {} users from auth-service in {} batches", ids.size(), chunks.size());
+
+        // one lane per unit of parallelism, each working through its share of chunks sequentially
+        int lanes = Math.min(batchParallelism, chunks.size());
+        List<CompletableFuture<Map<String, UserDTO>>> futures = new ArrayList<>(lanes);
+        for (int lane = 0; lane < lanes; lane++) {
+            int first = lane;
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                Map<String, UserDTO> users = new HashMap<>();
+                for (int i = first; i < chunks.size(); i += lanes) {
+                    fetchBatch(chunks.get(i), bearerToken).forEach(user -> users.put(user.getId(), user));
+                }
+                return users;
+            }, applicationTaskExecutor));
+        }
+
+        try {
+            Map<String, UserDTO> users = new HashMap<>();
+            futures.forEach(future -> users.putAll(future.join()));
+            return users;
+        } catch (CompletionException e) {
+            if (isBatchUnsupported(e.getCause())) {
+                log.warn("auth-service batch lookup unavailable, falling back to the full user list for {}",
+                        batchRetryAfter);
+                batchUnavailableUntil = Instant.now().plus(batchRetryAfter);
+                return fetchUsersFromFullList(userIds, bearerToken);
+            }
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    private Map<String, UserDTO> fetchAllUsers(String bearerToken) {
+        log.debug("Fetching all users from auth-service");
+        ApiResponse<List<UserDTO>> response = authGuard.call(() -> authRestClient.get()
+                .uri(authServiceUrl + "/users")
+                .header("Authorization", "Bearer " + bearerToken)
+                .retrieve()
+                .body(new ParameterizedTypeReference<>() {
+                }));
+
+        if (response != null && response.getData() != null) {
+            return response.getData().stream()
+                    .collect(Collectors.toMap(UserDTO::getId, user -> user));
+        }
+        return Map.of();
+    }
+
+    private List<UserDTO> fetchBatch(List<String> ids, String bearerToken) {
+        ApiResponse<List<UserDTO>> response = authGuard.call(() -> authRestClient.post()
+                .uri(authServiceUrl + batchPath)
+                .header("Authorization", "Bearer " + bearerToken)
+                .body(ids)
+                .retrieve()
+                .body(new ParameterizedTypeReference<>() {
+                }));
+        return response != null && response.getData() != null ? response.getData() : List.of();
+    }
+
+    private Map<String, UserDTO> fetchUsersFromFullList(Collection<String> userIds, String bearerToken) {
+        Map<String, UserDTO> allUsers = fetchAllUsers(bearerToken);
+        Map<String, UserDTO> users = new HashMap<>();
+        for (String userId : userIds) {
+            UserDTO user = allUsers.get(userId);
+            if (user != null) {
+                users.put(userId, user);
+            }
+        }
+        return users;
+    }
+
+    private boolean isBatchUnsupported(Throwable e) {
+        if (e instanceof HttpClientErrorException clientError) {
+            return clientError.getStatusCode().isSameCodeAs(HttpStatus.NOT_FOUND)
+                    || clientError.getStatusCode().isSameCodeAs(HttpStatus.METHOD_NOT_ALLOWED);
+        }
+        return e instanceof HttpServerErrorException serverError
+                && serverError.getStatusCode().isSameCodeAs(HttpStatus.NOT_IMPLEMENTED);
+    }
 }
@@ -0,0 +1,227 @@
+package com.abhishek.adminService.client;
+
+import com.abhishek.adminService.config.ResilienceProperties;
+import com.abhishek.adminService.exception.DownstreamUnavailableException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Wraps calls to one downstream service in a circuit breaker and a budgeted retry loop.
+ * <p>
+ * Each attempt goes through the breaker, so an open breaker fails fast with
+ * {@link DownstreamUnavailableException} and is never retried. Connection failures and 502/503/504
+ * (and 429) responses are retried up to {@code max-attempts} times, with exponential backoff and full
+ * jitter, while the {@link RetryBudget} allows it. When {@code serve-stale} is on, the last good value
+ * of a keyed call is returned if the call fails for any reason other than a 4xx response.
+ * <p>
+ * Every call, retries included, is timed as {@code http.client.calls} with its final outcome:
+ * {@code SUCCESS}, {@code STALE}, {@code CLIENT_ERROR}, {@code SERVER_ERROR}, {@code IO_ERROR},
+ * {@code TOO_LARGE}, {@code CIRCUIT_OPEN} or {@code UNKNOWN}. A {@link ResponseTooLargeException} is
+ * deterministic, so it is never retried and the breakers are configured to ignore it. The individual attempts show up in {@code http.client.requests}.
+ */
+@Slf4j
+public class DownstreamGuard {
+
+    private final String service;
+    private final CircuitBreaker circuitBreaker;
+    private final ResilienceProperties properties;
+    private final RetryBudget retryBudget;
+    private final Cache<String, Object> lastGood;
+    private final Counter retries;
+    private final Counter staleServed;
+    private final MeterRegistry meterRegistry;
+
+    public DownstreamGuard(String service, CircuitBreaker circuitBreaker, ResilienceProperties properties,
+                           MeterRegistry meterRegistry) {
+        this.service = service;
+        this.circuitBreaker = circuitBreaker;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.retryBudget = new RetryBudget(properties.getRetryBudgetRatio(), properties.getRetryBudgetBurst());
+        this.lastGood = properties.isServeStale()
+                ? Caffeine.newBuilder()
+                        .maximumSize(properties.getStaleMaxSize())
+                        .expireAfterWrite(properties.getStaleTtl())
+                        .build()
+                : null;
+        this.retries = Counter.builder("http.client.retries")
+                .description("Retried calls to a downstream service")
+                .tag("service", service)
+                .register(meterRegistry);
+        this.staleServed = Counter.builder("http.client.stale.served")
+                .description("Failed calls answered with the last good value")
+                .tag("service", service)
+                .register(meterRegistry);
+
+        circuitBreaker.getEventPublisher().onStateTransition(event -> {
+            log.warn("Circuit breaker for {}: {}", service, event.getStateTransition());
+            Counter.builder("http.client.circuit.transitions")
+                    .description("Circuit breaker state transitions")
+                    .tag("service", service)
+                    .tag("from", event.getStateTransition().getFromState().name())
+                    .tag("to", event.getStateTransition().getToState().name())
+                    .register(meterRegistry)
+                    .increment();
+        });
+    }
+
+    /**
+     * Runs the call with retries and, if enabled, remembers the result under {@code staleKey} to
+     * answer later failures of the same call.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T call(String staleKey, Supplier<T> call) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            T value = callWithRetries(call);
+            if (lastGood != null && value != null) {
+                lastGood.put(staleKey, value);
+            }
+            record(sample, "SUCCESS");
+            return value;
+        } catch (RuntimeException e) {
+            // a 4xx means the request itself was wrong, which an old answer does not fix
+            Object stale = lastGood == null || e instanceof HttpClientErrorException
+                    ? null
+                    : lastGood.getIfPresent(staleKey);
+            if (stale == null) {
+                record(sample, outcome(e));
+                throw e;
+            }
+            log.warn("{} call failed, serving last good value for {}: {}", service, staleKey, e.getMessage());
+            staleServed.increment();
+            record(sample, "STALE");
+            return (T) stale;
+        }
+    }
+
+    public <T> T call(Supplier<T> call) {
+        return timed(() -> callWithRetries(call));
+    }
+
+    /**
+     * Runs the call through the circuit breaker only, for calls that cannot safely be repeated
+     * (e.g. a response that is streamed on while it is read).
+     */
+    public <T> T callOnce(Supplier<T> call) {
+        return timed(() -> attempt(call));
+    }
+
+    private <T> T callWithRetries(Supplier<T> call) {
+        retryBudget.recordCall();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return attempt(call);
+            } catch (RuntimeException e) {
+                if (attempt >= properties.getMaxAttempts() || !isRetryable(e) || !retryBudget.tryAcquireRetry()) {
+                    throw e;
+                }
+                Duration backoff = backoff(attempt);
+                log.debug("{} call failed (attempt {}), retrying in {} ms: {}",
+                        service, attempt, backoff.toMillis(), e.getMessage());
+                retries.increment();
+                try {
+                    Thread.sleep(backoff.toMillis());
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private <T> T attempt(Supplier<T> call) {
+        try {
+            return circuitBreaker.executeSupplier(() -> unwrapTooLarge(call));
+        } catch (CallNotPermittedException e) {
+            throw new DownstreamUnavailableException(service, "circuit breaker is open", e);
+        }
+    }
+
+    /**
+     * Surfaces a size-limit violation as itself, as the message converter reading the body may have
+     * wrapped it, so that the breaker's {@code ignore-exceptions} applies.
+     */
+    private static <T> T unwrapTooLarge(Supplier<T> call) {
+        try {
+            return call.get();
+        } catch (RuntimeException e) {
+            for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+                if (cause instanceof ResponseTooLargeException tooLarge) {
+                    throw tooLarge;
+                }
+            }
+            throw e;
+        }
+    }
+
+    private <T> T timed(Supplier<T> call) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            T value = call.get();
+            record(sample, "SUCCESS");
+            return value;
+        } catch (RuntimeException e) {
+            record(sample, outcome(e));
+            throw e;
+        }
+    }
+
+    private void record(Timer.Sample sample, String outcome) {
+        sample.stop(Timer.builder("http.client.calls")
+                .description("Calls to a downstream service including retries, by final outcome")
+                .tag("service", service)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+
+    private static String outcome(RuntimeException e) {
+        if (e instanceof ResponseTooLargeException) {
+            return "TOO_LARGE";
+        }
+        if (e instanceof HttpClientErrorException) {
+            return "CLIENT_ERROR";
+        }
+        if (e instanceof HttpServerErrorException) {
+            return "SERVER_ERROR";
+        }
+        if (e instanceof ResourceAccessException) {
+            return "IO_ERROR";
+        }
+        return e instanceof DownstreamUnavailableException ? "CIRCUIT_OPEN" : "UNKNOWN";
+    }
+
+    private Duration backoff(int attempt) {
+        long cap = Math.min(properties.getMaxBackoff().toMillis(),
+                properties.getInitialBackoff().toMillis() << Math.min(attempt - 1, 20));
+        return Duration.ofMillis(ThreadLocalRandom.current().nextLong(cap + 1));
+    }
+
+    private static boolean isRetryable(RuntimeException e) {
+        if (e instanceof ResourceAccessException) {
+            return true;
+        }
+        if (e instanceof HttpClientErrorException clientError) {
+            return clientError.getStatusCode().isSameCodeAs(HttpStatus.TOO_MANY_REQUESTS);
+        }
+        return e instanceof HttpServerErrorException serverError
+                && (serverError.getStatusCode().isSameCodeAs(HttpStatus.BAD_GATEWAY)
+                || serverError.getStatusCode().isSameCodeAs(HttpStatus.SERVICE_UNAVAILABLE)
+                || serverError.getStatusCode().isSameCodeAs(HttpStatus.GATEWAY_TIMEOUT));
+    }
+}
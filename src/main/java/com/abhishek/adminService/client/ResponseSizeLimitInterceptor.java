@@ -0,0 +1,121 @@
+package com.abhishek.adminService.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Rejects JSON responses larger than a limit, so a runaway downstream cannot exhaust the heap while
+ * the body is deserialized. Other content types (e.g. streamed CSV exports) are never buffered and
+ * are left alone.
+ */
+public class ResponseSizeLimitInterceptor implements ClientHttpRequestInterceptor {
+
+    private final String service;
+    private final long maxBytes;
+
+    public ResponseSizeLimitInterceptor(String service, long maxBytes) {
+        this.service = service;
+        this.maxBytes = maxBytes;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        ClientHttpResponse response = execution.execute(request, body);
+        MediaType contentType = response.getHeaders().getContentType();
+        if (contentType == null || !contentType.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+            return response;
+        }
+
+        long contentLength = response.getHeaders().getContentLength();
+        if (contentLength > maxBytes) {
+            response.close();
+            throw tooLarge();
+        }
+        return new LimitedResponse(response);
+    }
+
+    // unchecked, so that RestClient does not report it as an I/O failure worth retrying
+    private ResponseTooLargeException tooLarge() {
+        return new ResponseTooLargeException(service, maxBytes);
+    }
+
+    private final class LimitedResponse implements ClientHttpResponse {
+        private final ClientHttpResponse delegate;
+        private InputStream body;
+
+        private LimitedResponse(ClientHttpResponse delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            if (body == null) {
+                body = new LimitedInputStream(delegate.getBody());
+            }
+            return body;
+        }
+
+        @Override
+        public void close() {
+            delegate.close();
+        }
+    }
+
+    private final class LimitedInputStream extends FilterInputStream {
+        private long remaining = maxBytes;
+
+        private LimitedInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                consumed(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                consumed(n);
+            }
+            return n;
+        }
+
+        private void consumed(int bytes) {
+            remaining -= bytes;
+            if (remaining < 0) {
+                throw tooLarge();
+            }
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.abhishek.adminService.client;
+
+import org.springframework.web.client.RestClientException;
+
+/**
+ * Thrown when a downstream response exceeds the configured size limit. The same request would get the
+ * same response again, so it is neither retried nor counted against the service's circuit breaker.
+ */
+public class ResponseTooLargeException extends RestClientException {
+
+    public ResponseTooLargeException(String service, long maxBytes) {
+        super(String.format("Response from %s exceeds %d bytes", service, maxBytes));
+    }
+}
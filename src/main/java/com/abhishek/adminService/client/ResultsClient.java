@@ -1,69 +1,157 @@
 package com.abhishek.adminService.client;
 
 import com.abhishek.adminService.dto.ApiResponse;
+import com.abhishek.adminService.exception.DownstreamUnavailableException;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
 
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class ResultsClient {
-    private final RestClient restClient;
-    private final String RESULTS_SERVICE_URL = "http://localhost:8084/results";
+    private static final String SERVICE = "results-service";
+
+    private final RestClient resultsRestClient;
+    private final DownstreamGuard resultsGuard;
+    private final DownstreamGuard resultsExportGuard;
+
+    @Value("${results-service.url:http://localhost:8084/results}")
+    private String resultsServiceUrl;
 
     public List<Map<String, Object>> getTestResults(String testId, String bearerToken) {
+        return fetchResults("/test/{testId}", testId, bearerToken);
+    }
+
+    public List<Map<String, Object>> getCandidateHistory(String candidateId, String bearerToken) {
+        return fetchResults("/candidate/{candidateId}", candidateId, bearerToken);
+    }
+
+    /**
+     * Opens the results CSV export and hands the upstream response to {@code handler} while the
+     * connection is still open, so the body can be piped on without being buffered. The given request
+     * headers (e.g. {@code Accept-Encoding}, {@code Range}) are forwarded unchanged. A 5xx from
+     * results-service is reported as {@link DownstreamUnavailableException} before the handler is
+     * called, so nothing has been written to the client yet; other statuses are passed on as is.
+     * <p>
+     * Exports run through their own breaker, since a long download is not a slow results-service. A
+     * client that goes away mid-copy is not an upstream failure either: it is logged and the call
+     * returns normally, as the response is already committed.
+     */
+    public void exportResults(String testId, String bearerToken, HttpHeaders forwardedHeaders,
+                              ExportHandler handler) {
+        var req = resultsRestClient.get().uri(resultsServiceUrl + "/export?testId={testId}", testId)
+                .headers(h -> h.addAll(forwardedHeaders));
+        if (bearerToken != null)
+            req.headers(h -> h.setBearerAuth(bearerToken));
+
+        // not retried: part of the body may already have been passed on
+        IOException clientFailure;
         try {
-            var req = restClient.get()
-                    .uri(RESULTS_SERVICE_URL + "/test/" + testId);
-            if (bearerToken != null)
-                req.headers(h -> h.setBearerAuth(bearerToken));
+            clientFailure = resultsExportGuard.callOnce(() -> req.exchange((request, response) -> {
+                if (response.getStatusCode().is5xxServerError()) {
+                    throw HttpServerErrorException.create(response.getStatusCode(), response.getStatusText(),
+                            response.getHeaders(), new byte[0], null);
+                }
+                UpstreamBody body = new UpstreamBody(response.getBody());
+                try {
+                    handler.handle(response.getStatusCode(), response.getHeaders(), body);
+                    return null;
+                } catch (IOException e) {
+                    if (body.failed) {
+                        throw e;
+                    }
+                    return e;
+                }
+            }));
+        } catch (HttpServerErrorException | ResourceAccessException e) {
+            throw new DownstreamUnavailableException(SERVICE, e.getMessage(), e);
+        }
+        if (clientFailure != null) {
+            log.debug("Client went away during results export for test {}: {}", testId, clientFailure.getMessage());
+        }
+    }
 
-            var response = req.retrieve()
-                    .body(new ParameterizedTypeReference<ApiResponse<List<Map<String, Object>>>>() {
-                    });
+    /**
+     * Fetches a result list through the retrying guard. A 4xx from results-service yields an empty
+     * list as before; an unreachable or failing results-service is reported as
+     * {@link DownstreamUnavailableException} unless a last good value can be served. The ID is passed
+     * as a URI variable so request metrics are tagged with the template rather than every ID.
+     */
+    private List<Map<String, Object>> fetchResults(String pathTemplate, String id, String bearerToken) {
+        String path = UriComponentsBuilder.fromPath(pathTemplate).build(id).getPath();
+        try {
+            var response = resultsGuard.call(path, () -> {
+                var req = resultsRestClient.get().uri(resultsServiceUrl + pathTemplate, id);
+                if (bearerToken != null)
+                    req.headers(h -> h.setBearerAuth(bearerToken));
+                return req.retrieve()
+                        .body(new ParameterizedTypeReference<ApiResponse<List<Map<String, Object>>>>() {
+                        });
+            });
 
             if (response != null && response.getData() != null) {
                 return response.getData();
             }
             return List.of();
-        } catch (Exception e) {
-            e.printStackTrace();
+        } catch (HttpClientErrorException e) {
+            log.warn("results-service rejected {}: {}", path, e.getStatusCode());
             return List.of();
+        } catch (RestClientException e) {
+            throw new DownstreamUnavailableException(SERVICE, e.getMessage(), e);
         }
     }
 
-    public List<Map<String, Object>> getCandidateHistory(String candidateId, String bearerToken) {
-        try {
-            var req = restClient.get().uri(RESULTS_SERVICE_URL + "/candidate/" + candidateId);
-            if (bearerToken != null)
-                req.headers(h -> h.setBearerAuth(bearerToken));
+    /**
+     * Remembers whether reading from results-service failed, to tell upstream failures apart from
+     * failures writing to the client.
+     */
+    private static class UpstreamBody extends FilterInputStream {
+        private boolean failed;
 
-            var response = req.retrieve()
-                    .body(new ParameterizedTypeReference<com.abhishek.adminService.dto.ApiResponse<List<Map<String, Object>>>>() {
-                    });
+        UpstreamBody(InputStream in) {
+            super(in);
+        }
 
-            if (response != null && response.getData() != null) {
-                return response.getData();
+        @Override
+        public int read() throws IOException {
+            try {
+                return super.read();
+            } catch (IOException e) {
+                failed = true;
+                throw e;
             }
-            return List.of();
-        } catch (Exception e) {
-            e.printStackTrace();
-            return List.of();
         }
-    }
 
-    public String exportResults(String testId, String bearerToken) {
-        try {
-            var req = restClient.get().uri(RESULTS_SERVICE_URL + "/export?testId=" + testId);
-            if (bearerToken != null)
-                req.headers(h -> h.setBearerAuth(bearerToken));
-            return req.retrieve().body(String.class);
-        } catch (Exception e) {
-            e.printStackTrace();
-            return "";
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            try {
+                return super.read(b, off, len);
+            } catch (IOException e) {
+                failed = true;
+                throw e;
+            }
         }
     }
+
+    @FunctionalInterface
+    public interface ExportHandler {
+        void handle(HttpStatusCode status, HttpHeaders headers, InputStream body) throws IOException;
+    }
 }
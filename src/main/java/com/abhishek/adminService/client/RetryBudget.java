@@ -0,0 +1,38 @@
+package com.abhishek.adminService.client;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket that limits retries to a fraction of first attempts. Every call deposits
+ * {@code ratio} of a token and every retry withdraws a whole one, so during an outage retries stop
+ * once the burst allowance is spent instead of multiplying the load on the failing service.
+ */
+public class RetryBudget {
+
+    private static final long SCALE = 1000; // tokens are kept in thousandths
+
+    private final long deposit;
+    private final long capacity;
+    private final AtomicLong balance;
+
+    public RetryBudget(double ratio, int burst) {
+        this.deposit = Math.round(ratio * SCALE);
+        this.capacity = burst * SCALE;
+        this.balance = new AtomicLong(capacity);
+    }
+
+    public void recordCall() {
+        balance.accumulateAndGet(deposit, (current, added) -> Math.min(capacity, current + added));
+    }
+
+    public boolean tryAcquireRetry() {
+        long current;
+        do {
+            current = balance.get();
+            if (current < SCALE) {
+                return false;
+            }
+        } while (!balance.compareAndSet(current, current - SCALE));
+        return true;
+    }
+}
@@ -1,13 +1,128 @@
 package com.abhishek.adminService.config;
 
+import com.abhishek.adminService.client.BulkheadInterceptor;
+import com.abhishek.adminService.client.ResponseSizeLimitInterceptor;
+import io.micrometer.common.KeyValues;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import io.micrometer.observation.ObservationRegistry;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.observation.ClientRequestObservationContext;
+import org.springframework.http.client.observation.DefaultClientRequestObservationConvention;
 import org.springframework.web.client.RestClient;
 
+/**
+ * One pooled HTTP client per downstream service, so a slow service can only exhaust its own
+ * connections and call slots. Settings live under {@code <service>.http} in the configuration.
+ * Each attempt is recorded as {@code http.client.requests}, tagged with the client name and the URI
+ * template, so callers pass IDs as URI variables rather than concatenating them into the path.
+ */
 @Configuration
 public class AppConfig {
+
+    @Bean
+    @ConfigurationProperties("auth-service.http")
+    public HttpClientProperties authHttpProperties() {
+        return new HttpClientProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties("results-service.http")
+    public HttpClientProperties resultsHttpProperties() {
+        return new HttpClientProperties();
+    }
+
+    @Bean(destroyMethod = "destroy")
+    public HttpComponentsClientHttpRequestFactory authRequestFactory(HttpClientProperties authHttpProperties,
+                                                                     MeterRegistry meterRegistry) {
+        return requestFactory("auth-service", authHttpProperties, meterRegistry);
+    }
+
+    @Bean(destroyMethod = "destroy")
+    public HttpComponentsClientHttpRequestFactory resultsRequestFactory(HttpClientProperties resultsHttpProperties,
+                                                                        MeterRegistry meterRegistry) {
+        return requestFactory("results-service", resultsHttpProperties, meterRegistry);
+    }
+
     @Bean
-    public RestClient restClient() {
-        return RestClient.create();
+    public RestClient authRestClient(HttpComponentsClientHttpRequestFactory authRequestFactory,
+                                     HttpClientProperties authHttpProperties, MeterRegistry meterRegistry,
+                                     ObservationRegistry observationRegistry) {
+        return restClient("auth-service", authRequestFactory, authHttpProperties, meterRegistry,
+                observationRegistry);
+    }
+
+    @Bean
+    public RestClient resultsRestClient(HttpComponentsClientHttpRequestFactory resultsRequestFactory,
+                                        HttpClientProperties resultsHttpProperties, MeterRegistry meterRegistry,
+                                        ObservationRegistry observationRegistry) {
+        return restClient("results-service", resultsRequestFactory, resultsHttpProperties, meterRegistry,
+                observationRegistry);
+    }
+
+    private static HttpComponentsClientHttpRequestFactory requestFactory(String service,
+                                                                         HttpClientProperties properties,
+                                                                         MeterRegistry meterRegistry) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(properties.getMaxConnections())
+                .setMaxConnPerRoute(properties.getMaxConnections())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(properties.getConnectTimeout()))
+                        .setSocketTimeout(Timeout.of(properties.getResponseTimeout()))
+                        .setTimeToLive(TimeValue.of(properties.getConnectionTimeToLive()))
+                        .build())
+                .build();
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, service).bindTo(meterRegistry);
+
+        CloseableHttpClient httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(properties.getPoolTimeout()))
+                        .setResponseTimeout(Timeout.of(properties.getResponseTimeout()))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(properties.getIdleEvictAfter()))
+                // bodies are handed on as received, e.g. gzip-encoded result exports
+                .disableContentCompression()
+                // retries are left to DownstreamGuard, which backs off and respects the retry budget
+                .disableAutomaticRetries()
+                .build();
+        return new HttpComponentsClientHttpRequestFactory(httpClient);
+    }
+
+    private static RestClient restClient(String service, HttpComponentsClientHttpRequestFactory requestFactory,
+                                         HttpClientProperties properties, MeterRegistry meterRegistry,
+                                         ObservationRegistry observationRegistry) {
+        BulkheadInterceptor bulkhead = new BulkheadInterceptor(service, properties.getMaxConcurrentCalls(),
+                properties.getBulkheadWait());
+        Gauge.builder("http.client.bulkhead.in.use", bulkhead, BulkheadInterceptor::inUse)
+                .description("Calls currently holding a bulkhead slot")
+                .tag("service", service)
+                .register(meterRegistry);
+
+        return RestClient.builder()
+                .requestFactory(requestFactory)
+                .observationRegistry(observationRegistry)
+                .observationConvention(new DefaultClientRequestObservationConvention() {
+                    @Override
+                    public KeyValues getLowCardinalityKeyValues(ClientRequestObservationContext context) {
+                        return super.getLowCardinalityKeyValues(context).and("service", service);
+                    }
+                })
+                .requestInterceptor(bulkhead)
+                .requestInterceptor(new ResponseSizeLimitInterceptor(service, properties.getMaxResponseSize().toBytes()))
+                .build();
     }
 }
@@ -0,0 +1,48 @@
+package com.abhishek.adminService.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+import static com.abhishek.adminService.constant.Constants.*;
+
+/**
+ * Read-through caches for the question bank and categories. Entries are evicted by the services on
+ * every write; the TTL only bounds how long another replica's writes can stay invisible.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    @Bean
+    public CacheManager cacheManager(@Value("${question-cache.max-size:50000}") long questionMaxSize,
+                                     @Value("${question-cache.ttl:PT10M}") Duration questionTtl,
+                                     @Value("${category-cache.ttl:PT10M}") Duration categoryTtl) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache(CACHE_QUESTIONS, Caffeine.newBuilder()
+                .maximumSize(questionMaxSize)
+                .expireAfterWrite(questionTtl)
+                .recordStats()
+                .build());
+        cacheManager.registerCustomCache(CACHE_QUESTIONS_BY_CATEGORY, Caffeine.newBuilder()
+                .maximumSize(1000)
+                .expireAfterWrite(questionTtl)
+                .recordStats()
+                .build());
+        cacheManager.registerCustomCache(CACHE_CATEGORIES, Caffeine.newBuilder()
+                .maximumSize(1)
+                .expireAfterWrite(categoryTtl)
+                .recordStats()
+                .build());
+        // only the caches above exist; a typo in a cache name should fail rather than create one silently
+        cacheManager.setCacheNames(List.of());
+        return cacheManager;
+    }
+}
@@ -0,0 +1,22 @@
+package com.abhishek.adminService.config;
+
+import lombok.Data;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Connection pool, timeout and bulkhead settings of the HTTP client for one downstream service.
+ */
+@Data
+public class HttpClientProperties {
+    private Duration connectTimeout = Duration.ofSeconds(2);
+    private Duration responseTimeout = Duration.ofSeconds(10); // max wait for data on an open connection
+    private Duration poolTimeout = Duration.ofSeconds(1); // max wait for a pooled connection
+    private int maxConnections = 50;
+    private Duration connectionTimeToLive = Duration.ofMinutes(5);
+    private Duration idleEvictAfter = Duration.ofSeconds(30);
+    private int maxConcurrentCalls = 20;
+    private Duration bulkheadWait = Duration.ofMillis(500);
+    private DataSize maxResponseSize = DataSize.ofMegabytes(16); // JSON responses only
+}
@@ -11,16 +11,25 @@ import org.springframework.jms.support.converter.MessageType;
 @Configuration
 public class JmsConfig {
 
+    public static final String TYPE_ID_PROPERTY = "_type";
+
     @Bean
     public MessageConverter jacksonJmsMessageConverter() {
         MappingJackson2MessageConverter converter = new MappingJackson2MessageConverter();
         converter.setTargetType(MessageType.TEXT);
-        converter.setTypeIdPropertyName("_type");
+        converter.setTypeIdPropertyName(TYPE_ID_PROPERTY);
+        converter.setObjectMapper(eventObjectMapper());
+
+        return converter;
+    }
 
+    /**
+     * The mapper behind the JMS message bodies, also used for events that are serialized ahead of
+     * sending (see the notification outbox) so both paths produce the same JSON.
+     */
+    public static ObjectMapper eventObjectMapper() {
         ObjectMapper objectMapper = new ObjectMapper();
         objectMapper.registerModule(new JavaTimeModule());
-        converter.setObjectMapper(objectMapper);
-
-        return converter;
+        return objectMapper;
     }
 }
@@ -0,0 +1,122 @@
+package com.abhishek.adminService.config;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Creates the indexes declared with {@code @Indexed}/{@code @CompoundIndex} once the application is up.
+ * <p>
+ * Spring Data's {@code auto-index-creation} does this while the context starts, which blocks (and fails)
+ * startup whenever Mongo is not reachable yet. Running it on a background thread keeps the
+ * declarations on the documents while letting the service boot independently of the database.
+ * Collections whose indexes could not be created are retried with backoff, from
+ * {@code mongo-indexes.initial-backoff} up to {@code mongo-indexes.max-backoff}, until all exist. Until
+ * then this reports {@code OUT_OF_SERVICE} as the {@code mongoIndexes} health indicator, which is part of
+ * the readiness group, so no traffic is sent to a node whose queries would scan whole collections.
+ */
+@Slf4j
+@Component("mongoIndexes")
+@RequiredArgsConstructor
+public class MongoIndexConfig implements HealthIndicator {
+
+    private final MongoTemplate mongoTemplate;
+    private final MongoMappingContext mappingContext;
+
+    @Value("${mongo-indexes.initial-backoff:PT1S}")
+    private Duration initialBackoff;
+
+    @Value("${mongo-indexes.max-backoff:PT1M}")
+    private Duration maxBackoff;
+
+    private final Set<String> missing = ConcurrentHashMap.newKeySet();
+    private volatile boolean started;
+    private Thread thread;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexes() {
+        thread = new Thread(this::createIndexes, "mongo-index-init");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @PreDestroy
+    void stop() {
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    @Override
+    public Health health() {
+        if (!started) {
+            return Health.outOfService().withDetail("pending", "not started").build();
+        }
+        return missing.isEmpty()
+                ? Health.up().build()
+                : Health.outOfService().withDetail("pending", List.copyOf(missing)).build();
+    }
+
+    private void createIndexes() {
+        List<MongoPersistentEntity<?>> pending = new ArrayList<>();
+        for (MongoPersistentEntity<?> entity : mappingContext.getPersistentEntities()) {
+            if (entity.isAnnotationPresent(Document.class)) {
+                pending.add(entity);
+                missing.add(entity.getCollection());
+            }
+        }
+        started = true;
+
+        IndexResolver resolver = new MongoPersistentEntityIndexResolver(mappingContext);
+        Duration backoff = initialBackoff;
+        while (true) {
+            pending.removeIf(entity -> createIndexes(resolver, entity));
+            if (pending.isEmpty()) {
+                log.info("Mongo indexes are in place");
+                return;
+            }
+            log.warn("Indexes missing for {} collections, retrying in {} ms", pending.size(), backoff.toMillis());
+            try {
+                Thread.sleep(backoff.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            backoff = backoff.multipliedBy(2).compareTo(maxBackoff) < 0 ? backoff.multipliedBy(2) : maxBackoff;
+        }
+    }
+
+    private boolean createIndexes(IndexResolver resolver, MongoPersistentEntity<?> entity) {
+        if (Thread.currentThread().isInterrupted()) {
+            return false;
+        }
+        try {
+            var indexOps = mongoTemplate.indexOps(entity.getType());
+            resolver.resolveIndexFor(entity.getTypeInformation()).forEach(indexOps::createIndex);
+            missing.remove(entity.getCollection());
+            log.debug("Ensured indexes for collection: {}", entity.getCollection());
+            return true;
+        } catch (Exception e) {
+            log.error("Failed to ensure indexes for collection: {}", entity.getCollection(), e);
+            return false;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.abhishek.adminService.config;
+
+import com.abhishek.adminService.client.DownstreamGuard;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Circuit breaker and retry guards for the downstream clients. Retry settings live under
+ * {@code <service>.resilience}; the breakers come from the resilience4j registry, which also
+ * publishes their state as {@code resilience4j.circuitbreaker.*} metrics.
+ */
+@Configuration
+public class ResilienceConfig {
+
+    @Bean
+    @ConfigurationProperties("auth-service.resilience")
+    public ResilienceProperties authResilienceProperties() {
+        return new ResilienceProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties("results-service.resilience")
+    public ResilienceProperties resultsResilienceProperties() {
+        return new ResilienceProperties();
+    }
+
+    @Bean
+    public DownstreamGuard authGuard(CircuitBreakerRegistry circuitBreakerRegistry,
+                                     ResilienceProperties authResilienceProperties, MeterRegistry meterRegistry) {
+        return new DownstreamGuard("auth-service", circuitBreakerRegistry.circuitBreaker("auth-service"),
+                authResilienceProperties, meterRegistry);
+    }
+
+    @Bean
+    public DownstreamGuard resultsGuard(CircuitBreakerRegistry circuitBreakerRegistry,
+                                        ResilienceProperties resultsResilienceProperties, MeterRegistry meterRegistry) {
+        return new DownstreamGuard("results-service", circuitBreakerRegistry.circuitBreaker("results-service"),
+                resultsResilienceProperties, meterRegistry);
+    }
+
+    /**
+     * Separate breaker for the CSV export, so minutes-long downloads neither count as slow calls nor
+     * open the breaker in front of the JSON result reads.
+     */
+    @Bean
+    public DownstreamGuard resultsExportGuard(CircuitBreakerRegistry circuitBreakerRegistry,
+                                              ResilienceProperties resultsResilienceProperties,
+                                              MeterRegistry meterRegistry) {
+        return new DownstreamGuard("results-service-export",
+                circuitBreakerRegistry.circuitBreaker("results-service-export"),
+                resultsResilienceProperties, meterRegistry);
+    }
+}
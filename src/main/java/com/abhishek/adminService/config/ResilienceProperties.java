@@ -0,0 +1,22 @@
+package com.abhishek.adminService.config;
+
+import lombok.Data;
+
+import java.time.Duration;
+
+/**
+ * Retry and stale-fallback settings for calls to one downstream service. The circuit breaker is
+ * configured separately under {@code resilience4j.circuitbreaker.instances.<service>}.
+ */
+@Data
+public class ResilienceProperties {
+    private int maxAttempts = 3;
+    private Duration initialBackoff = Duration.ofMillis(100);
+    private Duration maxBackoff = Duration.ofSeconds(2);
+    // retries may add at most this fraction of extra load on top of first attempts
+    private double retryBudgetRatio = 0.2;
+    private int retryBudgetBurst = 10;
+    private boolean serveStale = false;
+    private Duration staleTtl = Duration.ofHours(1);
+    private long staleMaxSize = 10_000;
+}
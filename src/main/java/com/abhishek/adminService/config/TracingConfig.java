@@ -0,0 +1,60 @@
+package com.abhishek.adminService.config;
+
+import com.mongodb.RequestContext;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.observation.ObservationPredicate;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.contextpropagation.ObservationThreadLocalAccessor;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.observability.ContextProviderFactory;
+import org.springframework.data.mongodb.observability.MongoHandlerContext;
+import org.springframework.data.mongodb.observability.MongoObservationCommandListener;
+
+/**
+ * Tracing beyond what Spring Boot instruments itself (incoming requests, the downstream RestClients and
+ * JMS sends). Spans go to every {@code SpanExporter} bean: the OTLP exporter once
+ * {@code management.otlp.tracing.endpoint} is set, or any other exporter added to the context.
+ */
+@Configuration
+public class TracingConfig {
+
+    private static final String MONGO_COMMAND_OBSERVATION = "spring.data.mongodb.command";
+
+    /**
+     * One span per Mongo command, as a child of the observation that is current on the calling thread.
+     */
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoObservationCustomizer(ObservationRegistry observationRegistry) {
+        return settings -> settings
+                .contextProvider(ContextProviderFactory.create(observationRegistry))
+                .addCommandListener(new MongoObservationCommandListener(observationRegistry));
+    }
+
+    /**
+     * Drops Mongo commands issued outside any observation, such as the outbox relay, relay lock and
+     * scheduler polls, which would otherwise each start a trace of their own every second.
+     */
+    @Bean
+    public ObservationPredicate mongoCommandsWithinTraces() {
+        return (name, context) -> {
+            if (!MONGO_COMMAND_OBSERVATION.equals(name) || !(context instanceof MongoHandlerContext mongo)) {
+                return true;
+            }
+            // the listener attaches the parent only after the observation is created, so look where it comes from
+            RequestContext requestContext = mongo.getRequestContext();
+            return requestContext != null
+                    && requestContext.getOrDefault(ObservationThreadLocalAccessor.KEY, null) != null;
+        };
+    }
+
+    /**
+     * Mongo commands are already timed as {@code mongodb.driver.commands}, so their observations only
+     * produce spans.
+     */
+    @Bean
+    public MeterFilter mongoCommandObservationMetricsFilter() {
+        return MeterFilter.denyNameStartsWith(MONGO_COMMAND_OBSERVATION);
+    }
+}
@@ -14,6 +14,7 @@ public final class Constants {
     public static final String MSG_TEST_DELETED = "Test deleted successfully";
     public static final String MSG_TEST_SCHEDULED = "Test scheduled successfully";
     public static final String MSG_CANDIDATES_ASSIGNED = "Candidates assigned successfully";
+    public static final String MSG_CANDIDATES_FETCHED = "Assigned candidates fetched successfully";
 
     public static final String MSG_CATEGORY_CREATED = "Category created successfully";
     public static final String MSG_CATEGORY_UPDATED = "Category updated successfully";
@@ -22,8 +23,11 @@ public final class Constants {
     public static final String MSG_QUESTION_CREATED = "Question created successfully";
     public static final String MSG_QUESTION_UPDATED = "Question updated successfully";
     public static final String MSG_QUESTION_DELETED = "Question deleted successfully";
+    public static final String MSG_QUESTIONS_IMPORTED = "Questions imported";
 
     public static final String MSG_TESTS_FETCHED = "Tests fetched successfully";
+    public static final String MSG_PAPER_FETCHED = "Test paper fetched successfully";
+    public static final String MSG_DASHBOARD_FETCHED = "Test dashboard fetched successfully";
     public static final String MSG_CATEGORIES_FETCHED = "Categories fetched successfully";
     public static final String MSG_QUESTIONS_FETCHED = "Questions fetched successfully";
 
@@ -37,4 +41,20 @@ public final class Constants {
     public static final String ENDPOINT_SCHEDULE = "/schedule";
     public static final String ENDPOINT_ASSIGN = "/assign";
     public static final String ENDPOINT_CANDIDATE = "/candidate";
+    public static final String ENDPOINT_STREAM = "/stream";
+    public static final String ENDPOINT_CANDIDATES = "/candidates";
+    public static final String ENDPOINT_PAPER = "/paper";
+    public static final String ENDPOINT_EXPORT = "/export";
+    public static final String ENDPOINT_IMPORT = "/import";
+    public static final String ENDPOINT_DASHBOARD = "/dashboard";
+
+    public static final String DEFAULT_PAGE_SIZE = "50";
+    public static final String PARAM_UNPAGED = "unpaged=true";
+
+    public static final String CACHE_QUESTIONS = "questions";
+    public static final String CACHE_QUESTIONS_BY_CATEGORY = "questionsByCategory";
+    public static final String CACHE_CATEGORIES = "categories";
+
+    public static final String MEDIA_TYPE_NDJSON = "application/x-ndjson";
+    public static final String MEDIA_TYPE_CSV = "text/csv";
 }
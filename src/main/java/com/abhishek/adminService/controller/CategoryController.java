@@ -2,6 +2,7 @@ package com.abhishek.adminService.controller;
 
 import com.abhishek.adminService.dto.ApiResponse;
 import com.abhishek.adminService.dto.CreateCategoryRequest;
+import com.abhishek.adminService.dto.CursorPage;
 import com.abhishek.adminService.model.Category;
 import com.abhishek.adminService.service.CategoryService;
 import jakarta.validation.Valid;
@@ -38,6 +39,21 @@ public class CategoryController {
 
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<CursorPage<Category>>> listCategoryPage(@RequestParam(required = false) String after,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int limit) {
+        log.info("GET {} - Fetching page of categories", ENDPOINT_ADMIN + ENDPOINT_CATEGORIES);
+
+        CursorPage<Category> categories = categoryService.findCategoriesPage(after, limit);
+
+        log.debug("Returning {} categories", categories.getItems().size());
+        return ResponseEntity.ok(ApiResponse.<CursorPage<Category>>builder()
+                .message(MSG_CATEGORIES_FETCHED)
+                .data(categories)
+                .build());
+    }
+
+    @GetMapping(params = PARAM_UNPAGED)
+    @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<ApiResponse<List<Category>>> listCategory() {
         log.info("GET {} - Fetching all categories", ENDPOINT_ADMIN + ENDPOINT_CATEGORIES);
 
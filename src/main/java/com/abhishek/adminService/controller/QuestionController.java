@@ -2,17 +2,29 @@ package com.abhishek.adminService.controller;
 
 import com.abhishek.adminService.dto.ApiResponse;
 import com.abhishek.adminService.dto.CreateQuestionRequest;
+import com.abhishek.adminService.dto.CursorPage;
+import com.abhishek.adminService.dto.ImportReport;
 import com.abhishek.adminService.model.Question;
+import com.abhishek.adminService.service.QuestionImportService;
 import com.abhishek.adminService.service.QuestionService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
-
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
 import static com.abhishek.adminService.constant.Constants.*;
 
@@ -21,7 +33,11 @@ import static com.abhishek.adminService.constant.Constants.*;
 @RequestMapping(ENDPOINT_ADMIN + ENDPOINT_QUESTIONS)
 @RequiredArgsConstructor
 public class QuestionController {
+        private static final int EXPORT_BUFFER_SIZE = 64 * 1024;
+        private static final int IMPORT_BUFFER_SIZE = 64 * 1024;
+
         private final QuestionService questionService;
+        private final QuestionImportService questionImportService;
 
         @PostMapping
         @PreAuthorize("hasRole('ADMIN')")
@@ -42,19 +58,41 @@ public class QuestionController {
 
         @GetMapping
         @PreAuthorize("hasAnyRole('ADMIN', 'CANDIDATE')")
-        public ResponseEntity<ApiResponse<List<Question>>> getQuestionByCategoryId(
-                        @RequestParam(required = false) String categoryId) {
-
-                if (categoryId == null) {
-                        log.info("GET {} - Fetching all questions", ENDPOINT_ADMIN + ENDPOINT_QUESTIONS);
-                } else {
-                        log.info("GET {} - Fetching questions for category: {}",
-                                        ENDPOINT_ADMIN + ENDPOINT_QUESTIONS, categoryId);
-                }
+        public ResponseEntity<ApiResponse<CursorPage<Question>>> getQuestionsPage(
+                        @RequestParam(required = false) String after,
+                        @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int limit) {
+                log.info("GET {} - Fetching page of questions", ENDPOINT_ADMIN + ENDPOINT_QUESTIONS);
+
+                CursorPage<Question> questions = questionService.findQuestionsPage(after, limit);
+
+                log.debug("Returning {} questions", questions.getItems().size());
+                return ResponseEntity.ok(ApiResponse.<CursorPage<Question>>builder()
+                                .message(MSG_QUESTIONS_FETCHED)
+                                .data(questions)
+                                .build());
+        }
+
+        @GetMapping(params = {PARAM_UNPAGED, "!categoryId"})
+        @PreAuthorize("hasAnyRole('ADMIN', 'CANDIDATE')")
+        public ResponseEntity<ApiResponse<List<Question>>> getAllQuestions() {
+                log.info("GET {} - Fetching all questions", ENDPOINT_ADMIN + ENDPOINT_QUESTIONS);
+
+                List<Question> questions = questionService.findAllQuestions();
+
+                log.debug("Returning {} questions", questions.size());
+                return ResponseEntity.ok(ApiResponse.<List<Question>>builder()
+                                .message(MSG_QUESTIONS_FETCHED)
+                                .data(questions)
+                                .build());
+        }
+
+        @GetMapping(params = "categoryId")
+        @PreAuthorize("hasAnyRole('ADMIN', 'CANDIDATE')")
+        public ResponseEntity<ApiResponse<List<Question>>> getQuestionByCategoryId(@RequestParam String categoryId) {
+                log.info("GET {} - Fetching questions for category: {}",
+                                ENDPOINT_ADMIN + ENDPOINT_QUESTIONS, categoryId);
 
-                List<Question> questions = categoryId == null
-                                ? questionService.findAllQuestions()
-                                : questionService.findByCategory(categoryId);
+                List<Question> questions = questionService.findByCategory(categoryId);
 
                 log.debug("Returning {} questions", questions.size());
                 return ResponseEntity.ok(ApiResponse.<List<Question>>builder()
@@ -63,6 +101,68 @@ public class QuestionController {
                                 .build());
         }
 
+        /**
+         * Streams the whole question bank as NDJSON, optionally gzip-encoded.
+         */
+        @GetMapping(value = ENDPOINT_EXPORT, produces = MEDIA_TYPE_NDJSON)
+        @PreAuthorize("hasRole('ADMIN')")
+        public ResponseEntity<StreamingResponseBody> exportQuestions(
+                        @RequestParam(defaultValue = "false") boolean gzip) {
+                log.info("GET {}{} - Exporting question bank (gzip: {})",
+                                ENDPOINT_ADMIN + ENDPOINT_QUESTIONS, ENDPOINT_EXPORT, gzip);
+
+                StreamingResponseBody body = out -> {
+                        if (gzip) {
+                                try (GZIPOutputStream gzipOut = new GZIPOutputStream(out, EXPORT_BUFFER_SIZE)) {
+                                        questionService.exportQuestions(gzipOut);
+                                }
+                        } else {
+                                questionService.exportQuestions(new BufferedOutputStream(out, EXPORT_BUFFER_SIZE));
+                        }
+                };
+
+                ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=questions.ndjson");
+                if (gzip) {
+                        response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+                }
+                return response.body(body);
+        }
+
+        /**
+         * Bulk-imports questions from an NDJSON body, one {@link CreateQuestionRequest} per line.
+         */
+        @PostMapping(value = ENDPOINT_IMPORT, consumes = MEDIA_TYPE_NDJSON)
+        @PreAuthorize("hasRole('ADMIN')")
+        public ResponseEntity<ApiResponse<ImportReport>> importQuestionsNdjson(HttpServletRequest servletRequest)
+                        throws IOException {
+                log.info("POST {}{} - Importing questions from NDJSON", ENDPOINT_ADMIN + ENDPOINT_QUESTIONS,
+                                ENDPOINT_IMPORT);
+
+                ImportReport report;
+                try (Reader body = importReader(servletRequest)) {
+                        report = questionImportService.importNdjson(body, principalId(servletRequest));
+                }
+                return importResponse(report);
+        }
+
+        /**
+         * Bulk-imports questions from a CSV body; see {@link QuestionImportService} for the columns.
+         */
+        @PostMapping(value = ENDPOINT_IMPORT, consumes = MEDIA_TYPE_CSV)
+        @PreAuthorize("hasRole('ADMIN')")
+        public ResponseEntity<ApiResponse<ImportReport>> importQuestionsCsv(HttpServletRequest servletRequest)
+                        throws IOException {
+                log.info("POST {}{} - Importing questions from CSV", ENDPOINT_ADMIN + ENDPOINT_QUESTIONS,
+                                ENDPOINT_IMPORT);
+
+                ImportReport report;
+                try (Reader body = importReader(servletRequest)) {
+                        report = questionImportService.importCsv(body, principalId(servletRequest));
+                }
+                return importResponse(report);
+        }
+
         @PostMapping("/bulk")
         @PreAuthorize("hasAnyRole('ADMIN', 'CANDIDATE')")
         public ResponseEntity<ApiResponse<List<Question>>> getAllQuestionsById(@RequestBody List<String> ids) {
@@ -105,4 +205,22 @@ public class QuestionController {
                                 .message(MSG_QUESTION_DELETED)
                                 .build());
         }
-}
\ No newline at end of file
+
+        private ResponseEntity<ApiResponse<ImportReport>> importResponse(ImportReport report) {
+                log.debug("Imported {} of {} questions, {} failed", report.getImported(), report.getReceived(),
+                                report.getFailed());
+                return ResponseEntity.ok(ApiResponse.<ImportReport>builder()
+                                .message(MSG_QUESTIONS_IMPORTED)
+                                .data(report)
+                                .build());
+        }
+
+        private static Reader importReader(HttpServletRequest servletRequest) throws IOException {
+                return new BufferedReader(new InputStreamReader(servletRequest.getInputStream(), StandardCharsets.UTF_8),
+                                IMPORT_BUFFER_SIZE);
+        }
+
+        private static String principalId(HttpServletRequest servletRequest) {
+                return (String) servletRequest.getAttribute("principalId");
+        }
+}
@@ -2,11 +2,17 @@ package com.abhishek.adminService.controller;
 
 import com.abhishek.adminService.client.ResultsClient;
 import com.abhishek.adminService.dto.ApiResponse;
+import com.abhishek.adminService.exception.DownstreamUnavailableException;
+import com.abhishek.adminService.exception.ResponseAbortedException;
+import com.abhishek.adminService.service.ResultService;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
-import org.springframework.http.HttpStatus;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Map;
@@ -15,39 +21,101 @@ import java.util.Map;
 @RequestMapping("/admin/results")
 @RequiredArgsConstructor
 public class ResultController {
+    private static final List<String> FORWARDED_REQUEST_HEADERS = List.of(
+            HttpHeaders.ACCEPT_ENCODING, HttpHeaders.RANGE, HttpHeaders.IF_RANGE);
+    private static final List<String> PASSED_RESPONSE_HEADERS = List.of(
+            HttpHeaders.CONTENT_TYPE, HttpHeaders.CONTENT_LENGTH, HttpHeaders.CONTENT_ENCODING,
+            HttpHeaders.CONTENT_RANGE, HttpHeaders.ACCEPT_RANGES, HttpHeaders.CONTENT_DISPOSITION,
+            HttpHeaders.ETAG, HttpHeaders.LAST_MODIFIED);
+
     private final ResultsClient resultsClient;
+    private final ResultService resultService;
 
+    /**
+     * Test results, cached briefly. Send the returned ETag as {@code If-None-Match} to get a 304
+     * without a body while the results are unchanged.
+     */
     @GetMapping("/test/{testId}")
     @PreAuthorize("hasAnyRole('ADMIN','MANAGER')")
     public ResponseEntity<ApiResponse<List<Map<String, Object>>>> getTestResults(@PathVariable String testId,
-            @RequestHeader(value = "Authorization", required = false) String bearerToken) {
+            @RequestHeader(value = "Authorization", required = false) String bearerToken,
+            WebRequest webRequest) {
         String token = extractToken(bearerToken);
-        return ResponseEntity.ok(ApiResponse.<List<Map<String, Object>>>builder()
-                .message("Test results fetched successfully")
-                .data(resultsClient.getTestResults(testId, token))
-                .build());
+        return cachedResponse(resultService.getTestResults(testId, token), "Test results fetched successfully",
+                webRequest);
     }
 
     @GetMapping("/candidate/{candidateId}")
     @PreAuthorize("hasAnyRole('ADMIN','MANAGER')")
     public ResponseEntity<ApiResponse<List<Map<String, Object>>>> getCandidateHistory(@PathVariable String candidateId,
-            @RequestHeader(value = "Authorization", required = false) String bearerToken) {
+            @RequestHeader(value = "Authorization", required = false) String bearerToken,
+            WebRequest webRequest) {
         String token = extractToken(bearerToken);
-        return ResponseEntity.ok(ApiResponse.<List<Map<String, Object>>>builder()
-                .message("Candidate history fetched successfully")
-                .data(resultsClient.getCandidateHistory(candidateId, token))
-                .build());
+        return cachedResponse(resultService.getCandidateHistory(candidateId, token),
+                "Candidate history fetched successfully", webRequest);
     }
 
+    /**
+     * Pipes the CSV export from results-service straight to the client. Compression and byte ranges
+     * are negotiated with results-service, so a gzip-encoded or partial (206) response is passed
+     * through untouched and an interrupted download can be resumed.
+     * <p>
+     * If results-service fails before anything was sent, the copied headers are dropped and the client
+     * gets a 503. Once the body is being streamed, the connection is aborted instead.
+     */
     @GetMapping("/export")
     @PreAuthorize("hasAnyRole('ADMIN','MANAGER')")
-    public ResponseEntity<String> exportResults(@RequestParam String testId,
-            @RequestHeader(value = "Authorization", required = false) String bearerToken) {
+    public void exportResults(@RequestParam String testId,
+            @RequestHeader(value = "Authorization", required = false) String bearerToken,
+            @RequestHeader HttpHeaders requestHeaders,
+            HttpServletResponse response) {
         String token = extractToken(bearerToken);
-        String csv = resultsClient.exportResults(testId, token);
+
+        HttpHeaders forwarded = new HttpHeaders();
+        FORWARDED_REQUEST_HEADERS.forEach(name -> {
+            List<String> values = requestHeaders.get(name);
+            if (values != null) {
+                forwarded.put(name, values);
+            }
+        });
+
+        try {
+            resultsClient.exportResults(testId, token, forwarded, (status, headers, body) -> {
+                response.setStatus(status.value());
+                PASSED_RESPONSE_HEADERS.forEach(name -> {
+                    String value = headers.getFirst(name);
+                    if (value != null) {
+                        response.setHeader(name, value);
+                    }
+                });
+                if (status.is2xxSuccessful() && !headers.containsKey(HttpHeaders.CONTENT_DISPOSITION)) {
+                    response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=results.csv");
+                }
+                // InputStream.transferTo copies through a fixed 8 KB buffer
+                body.transferTo(response.getOutputStream());
+            });
+        } catch (DownstreamUnavailableException e) {
+            if (!response.isCommitted()) {
+                response.reset();
+                throw e;
+            }
+            throw new ResponseAbortedException("results export for test " + testId + " failed mid-stream", e);
+        }
+    }
+
+    private ResponseEntity<ApiResponse<List<Map<String, Object>>>> cachedResponse(ResultService.Results results,
+            String message, WebRequest webRequest) {
+        if (webRequest.checkNotModified(results.etag())) {
+            // status and ETag are already set on the response
+            return null;
+        }
         return ResponseEntity.ok()
-                .header("Content-Disposition", "attachment; filename=results.csv")
-                .body(csv);
+                .eTag(results.etag())
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(ApiResponse.<List<Map<String, Object>>>builder()
+                        .message(message)
+                        .data(results.data())
+                        .build());
     }
 
     private String extractToken(String bearerToken) {
@@ -2,18 +2,30 @@ package com.abhishek.adminService.controller;
 
 import com.abhishek.adminService.dto.ApiResponse;
 import com.abhishek.adminService.dto.AssignTestRequest;
+import com.abhishek.adminService.dto.AssignmentResult;
 import com.abhishek.adminService.dto.CreateTestRequest;
+import com.abhishek.adminService.dto.CursorPage;
+import com.abhishek.adminService.dto.TestDashboard;
 import com.abhishek.adminService.exception.TestNotFoundException;
 import com.abhishek.adminService.model.Test;
+import com.abhishek.adminService.service.TestDashboardService;
+import com.abhishek.adminService.service.TestPaperService;
 import com.abhishek.adminService.service.TestService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static com.abhishek.adminService.constant.Constants.*;
 
@@ -23,6 +35,8 @@ import static com.abhishek.adminService.constant.Constants.*;
 @RequiredArgsConstructor
 public class TestController {
     private final TestService testService;
+    private final TestPaperService testPaperService;
+    private final TestDashboardService testDashboardService;
 
     @PostMapping
     @PreAuthorize("hasRole('ADMIN')")
@@ -40,6 +54,21 @@ public class TestController {
 
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<CursorPage<Test>>> getTests(@RequestParam(required = false) String after,
+                                                        @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int limit) {
+        log.info("GET {} - Fetching page of tests", ENDPOINT_ADMIN + ENDPOINT_TESTS);
+
+        CursorPage<Test> tests = testService.findPage(after, limit);
+
+        log.debug("Returning {} tests", tests.getItems().size());
+        return ResponseEntity.ok(ApiResponse.<CursorPage<Test>>builder()
+                .message(MSG_TESTS_FETCHED)
+                .data(tests)
+                .build());
+    }
+
+    @GetMapping(params = PARAM_UNPAGED)
+    @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<ApiResponse<List<Test>>> getAllTests() {
         log.info("GET {} - Fetching all tests", ENDPOINT_ADMIN + ENDPOINT_TESTS);
 
@@ -70,6 +99,43 @@ public class TestController {
                 .build());
     }
 
+    /**
+     * The test together with its questions, results and first page of assigned candidates, fetched
+     * concurrently. Sections that could not be loaded in time are listed in {@code unavailable}.
+     */
+    @GetMapping("/{testId}" + ENDPOINT_DASHBOARD)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<TestDashboard>> getTestDashboard(@PathVariable String testId,
+                                                        @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int candidateLimit,
+                                                        @RequestHeader(value = "Authorization", required = false) String authorizationHeader) {
+        log.info("GET {}/{}{} - Fetching test dashboard", ENDPOINT_ADMIN + ENDPOINT_TESTS, testId, ENDPOINT_DASHBOARD);
+
+        TestDashboard dashboard = testDashboardService.getDashboard(testId, candidateLimit,
+                extractBearerToken(authorizationHeader));
+
+        log.debug("Dashboard fetched for test: {}, unavailable: {}", testId, dashboard.getUnavailable().keySet());
+        return ResponseEntity.ok(ApiResponse.<TestDashboard>builder()
+                .message(MSG_DASHBOARD_FETCHED)
+                .data(dashboard)
+                .build());
+    }
+
+    /**
+     * Serves the test's pre-encoded paper (questions without answers) exactly as it was built.
+     */
+    @GetMapping(value = "/{testId}" + ENDPOINT_PAPER, produces = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN', 'CANDIDATE')")
+    public ResponseEntity<byte[]> getTestPaper(@PathVariable String testId) {
+        log.info("GET {}/{}{} - Fetching test paper", ENDPOINT_ADMIN + ENDPOINT_TESTS, testId, ENDPOINT_PAPER);
+
+        byte[] paper = testPaperService.getPaper(testId);
+
+        log.debug("Returning paper of {} bytes for test: {}", paper.length, testId);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(paper);
+    }
+
     @PutMapping("/{testId}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<ApiResponse<Test>> updateTest(@PathVariable String testId,
@@ -101,7 +167,7 @@ public class TestController {
 
     @PostMapping("/{testId}" + ENDPOINT_ASSIGN)
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<ApiResponse<Test>> assignTest(@PathVariable String testId,
+    public ResponseEntity<ApiResponse<AssignmentResult>> assignTest(@PathVariable String testId,
                                                         @Valid @RequestBody AssignTestRequest assignRequest,
                                                         @RequestHeader(value = "Authorization", required = false) String authorizationHeader) {
         log.info("POST {}/{}{} - Assigning {} candidates to test",
@@ -109,25 +175,77 @@ public class TestController {
                 assignRequest.getCandidateIds().size());
 
         String bearerToken = extractBearerToken(authorizationHeader);
-        Test assignedTest = testService.assignCandidates(testId, assignRequest.getCandidateIds(), bearerToken);
+        AssignmentResult result = testService.assignCandidates(testId, assignRequest.getCandidateIds(), bearerToken);
 
         log.debug("Candidates assigned successfully to test: {}", testId);
-        return ResponseEntity.ok(ApiResponse.<Test>builder()
+        return ResponseEntity.ok(ApiResponse.<AssignmentResult>builder()
+                .message(MSG_CANDIDATES_ASSIGNED)
+                .data(result)
+                .build());
+    }
+
+    /**
+     * Assigns a candidate upload of any size, one candidate ID per line (plain text or NDJSON strings).
+     * The body is consumed as a stream, so it never has to fit in memory.
+     */
+    @PostMapping(value = "/{testId}" + ENDPOINT_ASSIGN + ENDPOINT_STREAM,
+            consumes = {MediaType.TEXT_PLAIN_VALUE, MEDIA_TYPE_NDJSON})
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<AssignmentResult>> assignTestStream(@PathVariable String testId,
+                                                        HttpServletRequest request,
+                                                        @RequestHeader(value = "Authorization", required = false) String authorizationHeader) throws IOException {
+        log.info("POST {}/{}{}{} - Streaming candidate assignment",
+                ENDPOINT_ADMIN + ENDPOINT_TESTS, testId, ENDPOINT_ASSIGN, ENDPOINT_STREAM);
+
+        String bearerToken = extractBearerToken(authorizationHeader);
+        AssignmentResult result;
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8))) {
+            Stream<String> candidateIds = reader.lines()
+                    .map(String::trim)
+                    .map(line -> line.length() > 1 && line.startsWith("\"") && line.endsWith("\"")
+                            ? line.substring(1, line.length() - 1)
+                            : line)
+                    .filter(line -> !line.isEmpty());
+            result = testService.assignCandidates(testId, candidateIds, bearerToken);
+        }
+
+        log.debug("Assigned {} new of {} streamed candidates to test: {}",
+                result.getAssigned(), result.getRequested(), testId);
+        return ResponseEntity.ok(ApiResponse.<AssignmentResult>builder()
                 .message(MSG_CANDIDATES_ASSIGNED)
-                .data(assignedTest)
+                .data(result)
+                .build());
+    }
+
+    @GetMapping("/{testId}" + ENDPOINT_CANDIDATES)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<CursorPage<String>>> getAssignedCandidates(@PathVariable String testId,
+                                                        @RequestParam(required = false) String after,
+                                                        @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int limit) {
+        log.info("GET {}/{}{} - Fetching assigned candidates", ENDPOINT_ADMIN + ENDPOINT_TESTS, testId, ENDPOINT_CANDIDATES);
+
+        CursorPage<String> candidates = testService.getAssignedCandidates(testId, after, limit);
+
+        log.debug("Returning {} assigned candidates for test: {}", candidates.getItems().size(), testId);
+        return ResponseEntity.ok(ApiResponse.<CursorPage<String>>builder()
+                .message(MSG_CANDIDATES_FETCHED)
+                .data(candidates)
                 .build());
     }
 
     @GetMapping(ENDPOINT_CANDIDATE + "/{candidateId}")
     @PreAuthorize("hasAnyRole('ADMIN', 'CANDIDATE')")
-    public ResponseEntity<ApiResponse<List<Test>>> getTestsForCandidate(@PathVariable String candidateId) {
+    public ResponseEntity<ApiResponse<CursorPage<Test>>> getTestsForCandidate(@PathVariable String candidateId,
+                                                        @RequestParam(required = false) String after,
+                                                        @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int limit) {
         log.info("GET {}{}/{} - Fetching tests for candidate",
                 ENDPOINT_ADMIN + ENDPOINT_TESTS, ENDPOINT_CANDIDATE, candidateId);
 
-        List<Test> tests = testService.getTestsForCandidate(candidateId);
+        CursorPage<Test> tests = testService.getTestsForCandidate(candidateId, after, limit);
 
-        log.debug("Returning {} tests for candidate: {}", tests.size(), candidateId);
-        return ResponseEntity.ok(ApiResponse.<List<Test>>builder()
+        log.debug("Returning {} tests for candidate: {}", tests.getItems().size(), candidateId);
+        return ResponseEntity.ok(ApiResponse.<CursorPage<Test>>builder()
                 .message(MSG_TESTS_FETCHED)
                 .data(tests)
                 .build());
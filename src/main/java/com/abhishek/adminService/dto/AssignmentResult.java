@@ -0,0 +1,16 @@
+package com.abhishek.adminService.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class AssignmentResult {
+    private String testId;
+    private long requested;
+    private long assigned; // candidates that were not assigned to the test before
+}
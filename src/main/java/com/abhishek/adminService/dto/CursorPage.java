@@ -0,0 +1,33 @@
+package com.abhishek.adminService.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated listing. Pass {@code nextCursor} back as {@code after} to fetch the
+ * following page; it is {@code null} on the last page.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class CursorPage<T> {
+    private List<T> items;
+    private String nextCursor;
+
+    /**
+     * Wraps a page fetched with {@code pageSize}. A full page may have a successor, so its last item's
+     * key becomes the cursor; a shorter page is the last one.
+     */
+    public static <T> CursorPage<T> of(List<T> items, int pageSize, Function<T, String> keyOf) {
+        return CursorPage.<T>builder()
+                .items(items)
+                .nextCursor(items.size() < pageSize ? null : keyOf.apply(items.get(items.size() - 1)))
+                .build();
+    }
+}
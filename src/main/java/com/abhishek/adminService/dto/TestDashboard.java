@@ -0,0 +1,27 @@
+package com.abhishek.adminService.dto;
+
+import com.abhishek.adminService.model.Question;
+import com.abhishek.adminService.model.Test;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Everything the admin dashboard shows for one test. A section whose lookup failed or timed out is
+ * {@code null} and listed in {@code unavailable} with the reason.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class TestDashboard {
+    private Test test;
+    private List<Question> questions;
+    private List<Map<String, Object>> results;
+    private CursorPage<UserDTO> candidates; // first page of assigned candidates
+    private Map<String, String> unavailable;
+}
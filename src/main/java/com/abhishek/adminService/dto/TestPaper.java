@@ -0,0 +1,29 @@
+package com.abhishek.adminService.dto;
+
+import com.abhishek.adminService.model.Question;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Candidate-facing view of a test: its questions resolved, without the correct answers.
+ */
+@Data
+public class TestPaper {
+    private String testId;
+    private String testName;
+    private int durationMinutes;
+    private LocalDateTime startAt;
+    private LocalDateTime endAt;
+    private List<PaperQuestion> questions;
+
+    @Data
+    public static class PaperQuestion {
+        private String id;
+        private String categoryId;
+        private String difficulty;
+        private String text;
+        private List<Question.Option> options;
+    }
+}
@@ -0,0 +1,24 @@
+package com.abhishek.adminService.exception;
+
+/**
+ * Thrown when another service cannot be reached, or a call to it is refused locally (bulkhead full,
+ * circuit breaker open)
+ */
+public class DownstreamUnavailableException extends RuntimeException {
+
+    private final String service;
+
+    public DownstreamUnavailableException(String service, String reason) {
+        super(String.format("%s is unavailable: %s", service, reason));
+        this.service = service;
+    }
+
+    public DownstreamUnavailableException(String service, String reason, Throwable cause) {
+        super(String.format("%s is unavailable: %s", service, reason), cause);
+        this.service = service;
+    }
+
+    public String getService() {
+        return service;
+    }
+}
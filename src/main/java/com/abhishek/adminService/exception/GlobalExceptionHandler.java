@@ -67,6 +67,25 @@ public class GlobalExceptionHandler {
                         .build());
     }
 
+    @ExceptionHandler(DownstreamUnavailableException.class)
+    public ResponseEntity<ApiResponse<Void>> handleDownstreamUnavailable(DownstreamUnavailableException exception) {
+        log.warn("Downstream unavailable - service: {}: {}", exception.getService(), exception.getMessage());
+
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(ApiResponse.<Void>builder()
+                        .message(exception.getMessage())
+                        .build());
+    }
+
+    @ExceptionHandler(ResponseAbortedException.class)
+    public void handleResponseAborted(ResponseAbortedException exception) {
+        log.warn("Aborting response: {}", exception.getMessage());
+
+        // the response is committed, so no error body can follow; the container closes the connection
+        throw exception;
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<ApiResponse<Void>> handleIllegalArgument(IllegalArgumentException exception) {
         log.error("Illegal argument: {}", exception.getMessage());
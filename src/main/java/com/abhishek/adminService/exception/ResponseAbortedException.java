@@ -0,0 +1,13 @@
+package com.abhishek.adminService.exception;
+
+/**
+ * Thrown when a response that is already being streamed to the client cannot be finished. It is
+ * rethrown to the servlet container, which closes the connection so the client sees an incomplete
+ * response rather than a short one that looks complete.
+ */
+public class ResponseAbortedException extends RuntimeException {
+
+    public ResponseAbortedException(String reason, Throwable cause) {
+        super(reason, cause);
+    }
+}
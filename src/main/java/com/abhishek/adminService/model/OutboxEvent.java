@@ -0,0 +1,32 @@
+package com.abhishek.adminService.model;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * A notification event waiting to be relayed to the broker. {@code sequence} is allocated by the server
+ * when the event is written, so relaying in sequence order keeps the events of a test in the order they
+ * were raised, whichever node raised them. The ObjectId is only an identity: it doubles as the broker's
+ * duplicate-detection key when an event is sent more than once.
+ * The trace context of the request that raised the event is kept with it, so the relay's span and
+ * the message sent to the broker continue that trace.
+ */
+@Document(collection = "outbox")
+@Data
+public class OutboxEvent {
+    @Id
+    private String id;
+    @Indexed
+    private long sequence;
+    private String testId;
+    private String destination;
+    private String type; // JMS type ID, the event's class name
+    private String payload;
+    private Instant createdAt;
+    private Map<String, String> traceContext; // propagation headers, e.g. traceparent
+}
@@ -0,0 +1,20 @@
+package com.abhishek.adminService.model;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * A named lease that elects a single node to run a background relay. The owner renews it while working;
+ * once it lapses (e.g. the owner died) any node can take it over.
+ */
+@Document(collection = "relay_locks")
+@Data
+public class RelayLock {
+    @Id
+    private String name;
+    private String owner;
+    private Instant leaseUntil;
+}
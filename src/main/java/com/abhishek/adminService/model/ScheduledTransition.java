@@ -0,0 +1,37 @@
+package com.abhishek.adminService.model;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * A pending start/end transition of a test. Persisted so that restarts do not lose
+ * activations, and leased so that only one replica fires each transition.
+ */
+@Document(collection = "test_schedules")
+@CompoundIndex(name = "fireAt_leaseUntil", def = "{'fireAt': 1, 'leaseUntil': 1}")
+@Data
+public class ScheduledTransition {
+    @Id
+    private String id; // testId:type, so rescheduling replaces the previous entry
+    @Indexed
+    private String testId;
+    private Type type;
+    private Instant fireAt;
+    private String leaseOwner;
+    private Instant leaseUntil;
+    @Indexed(sparse = true)
+    private String claimToken;
+
+    public enum Type {
+        START, END
+    }
+
+    public static String idOf(String testId, Type type) {
+        return testId + ":" + type;
+    }
+}
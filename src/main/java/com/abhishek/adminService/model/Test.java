@@ -19,7 +19,6 @@ public class Test {
     private int durationMinutes;
     private LocalDateTime startAt;
     private LocalDateTime endAt;
-    private List<String> assignedCandidates; // userIds
     private boolean scheduled;
     private boolean active;
 }
\ No newline at end of file
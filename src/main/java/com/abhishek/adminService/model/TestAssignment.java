@@ -0,0 +1,33 @@
+package com.abhishek.adminService.model;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * One candidate assigned to one test. Kept out of the {@link Test} document so cohorts are not capped
+ * by the document size limit and both directions of the lookup are plain index range scans.
+ */
+@Document(collection = "test_assignments")
+@CompoundIndex(name = "testId_candidateId", def = "{'testId': 1, 'candidateId': 1}", unique = true)
+@CompoundIndex(name = "candidateId_testId", def = "{'candidateId': 1, 'testId': 1}")
+@Data
+public class TestAssignment {
+    @Id
+    private String id; // testId:candidateId, so re-assigning the same candidate is a duplicate key
+    private String testId;
+    private String candidateId;
+    private Instant assignedAt;
+
+    public static TestAssignment of(String testId, String candidateId, Instant assignedAt) {
+        TestAssignment assignment = new TestAssignment();
+        assignment.setId(testId + ":" + candidateId);
+        assignment.setTestId(testId);
+        assignment.setCandidateId(candidateId);
+        assignment.setAssignedAt(assignedAt);
+        return assignment;
+    }
+}
@@ -0,0 +1,23 @@
+package com.abhishek.adminService.model;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Persisted copy of a pre-encoded test paper, so other replicas and restarts can serve it without
+ * resolving the questions again.
+ */
+@Document(collection = "test_papers")
+@Data
+public class TestPaperSnapshot {
+    @Id
+    private String testId;
+    private List<String> questionIds;
+    private byte[] json;
+    private Instant builtAt;
+    private Instant endAt; // the test's end, after which the paper is dropped from memory
+}
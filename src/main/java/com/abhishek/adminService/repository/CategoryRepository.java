@@ -1,9 +1,19 @@
 package com.abhishek.adminService.repository;
 
 import com.abhishek.adminService.model.Category;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+
+import java.util.List;
 
 
 public interface CategoryRepository extends MongoRepository<Category, String> {
 
+    @Query(value = "{}", sort = "{ '_id': 1 }")
+    List<Category> findPage(Limit limit);
+
+    @Query(value = "{ '_id': { $gt: ?0 } }", sort = "{ '_id': 1 }")
+    List<Category> findPageAfter(ObjectId after, Limit limit);
 }
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.abhishek.adminService.repository;
+
+import com.abhishek.adminService.model.OutboxEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.util.List;
+
+public interface OutboxEventRepository extends MongoRepository<OutboxEvent, String>, OutboxEventRepositoryCustom {
+    List<OutboxEvent> findAllByOrderBySequenceAsc(Limit limit);
+}
@@ -0,0 +1,10 @@
+package com.abhishek.adminService.repository;
+
+public interface OutboxEventRepositoryCustom {
+
+    /**
+     * Allocates the next outbox sequence number with an atomic {@code $inc} on the server, so numbers
+     * follow the order in which events were raised across all nodes.
+     */
+    long nextSequence();
+}
@@ -0,0 +1,26 @@
+package com.abhishek.adminService.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+@RequiredArgsConstructor
+public class OutboxEventRepositoryCustomImpl implements OutboxEventRepositoryCustom {
+
+    private static final String COUNTERS = "counters";
+    private static final String OUTBOX_COUNTER = "outbox";
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public long nextSequence() {
+        Document counter = mongoTemplate.findAndModify(new Query(Criteria.where("_id").is(OUTBOX_COUNTER)),
+                new Update().inc("value", 1L), FindAndModifyOptions.options().returnNew(true).upsert(true),
+                Document.class, COUNTERS);
+        return ((Number) counter.get("value")).longValue();
+    }
+}
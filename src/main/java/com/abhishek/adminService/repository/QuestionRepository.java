@@ -1,11 +1,30 @@
 package com.abhishek.adminService.repository;
 
 import com.abhishek.adminService.model.Question;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.mongodb.repository.Meta;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 
-public interface QuestionRepository extends MongoRepository<Question, String> {
+public interface QuestionRepository extends MongoRepository<Question, String>, QuestionRepositoryCustom {
+    String LIST_FIELDS = "{ 'categoryId': 1, 'difficulty': 1, 'text': 1, 'createdAt': 1, 'createdBy': 1 }";
+
     List<Question> findByCategoryId(String categoryId);
+
+    /**
+     * Iterates the whole question bank over a server-side cursor; the stream must be closed.
+     */
+    @Meta(cursorBatchSize = 1000)
+    Stream<Question> streamAllBy();
+
+    @Query(value = "{}", fields = LIST_FIELDS, sort = "{ '_id': 1 }")
+    List<Question> findPage(Limit limit);
+
+    @Query(value = "{ '_id': { $gt: ?0 } }", fields = LIST_FIELDS, sort = "{ '_id': 1 }")
+    List<Question> findPageAfter(ObjectId after, Limit limit);
 }
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.abhishek.adminService.repository;
+
+import com.abhishek.adminService.model.Question;
+
+import java.util.List;
+import java.util.Map;
+
+public interface QuestionRepositoryCustom {
+
+    /**
+     * Inserts the questions in one unordered bulk write, so one bad document does not stop the rest.
+     *
+     * @return error messages of the inserts that failed, keyed by their position in {@code questions}
+     */
+    Map<Integer, String> insertUnordered(List<Question> questions);
+}
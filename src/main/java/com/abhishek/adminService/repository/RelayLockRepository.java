@@ -0,0 +1,8 @@
+package com.abhishek.adminService.repository;
+
+import com.abhishek.adminService.model.RelayLock;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface RelayLockRepository extends MongoRepository<RelayLock, String>, RelayLockRepositoryCustom {
+    void deleteByNameAndOwner(String name, String owner);
+}
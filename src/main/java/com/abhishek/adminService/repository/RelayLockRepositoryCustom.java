@@ -0,0 +1,13 @@
+package com.abhishek.adminService.repository;
+
+import java.time.Duration;
+
+public interface RelayLockRepositoryCustom {
+
+    /**
+     * Takes or renews the lock {@code name} for {@code owner} until {@code lease} from now.
+     *
+     * @return false when another owner holds an unexpired lease
+     */
+    boolean tryAcquire(String name, String owner, Duration lease);
+}
@@ -0,0 +1,33 @@
+package com.abhishek.adminService.repository;
+
+import com.abhishek.adminService.model.RelayLock;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Duration;
+import java.time.Instant;
+
+@RequiredArgsConstructor
+public class RelayLockRepositoryCustomImpl implements RelayLockRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public boolean tryAcquire(String name, String owner, Duration lease) {
+        Instant now = Instant.now();
+        Query ownable = new Query(Criteria.where("_id").is(name)
+                .orOperator(Criteria.where("owner").is(owner), Criteria.where("leaseUntil").lt(now)));
+        try {
+            // when someone else holds the lease the upsert tries to insert a second lock and is rejected
+            mongoTemplate.upsert(ownable, new Update().set("owner", owner).set("leaseUntil", now.plus(lease)),
+                    RelayLock.class);
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+}
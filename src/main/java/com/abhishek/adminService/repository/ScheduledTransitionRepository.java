@@ -0,0 +1,9 @@
+package com.abhishek.adminService.repository;
+
+import com.abhishek.adminService.model.ScheduledTransition;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface ScheduledTransitionRepository extends MongoRepository<ScheduledTransition, String>,
+        ScheduledTransitionRepositoryCustom {
+    void deleteByTestId(String testId);
+}
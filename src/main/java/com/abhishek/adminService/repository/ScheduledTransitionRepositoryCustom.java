@@ -0,0 +1,30 @@
+package com.abhishek.adminService.repository;
+
+import com.abhishek.adminService.model.ScheduledTransition;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface ScheduledTransitionRepositoryCustom {
+
+    /**
+     * Leases up to {@code limit} transitions due at or before {@code dueBy} to {@code owner}.
+     * Transitions whose lease has expired (e.g. the owning node died) are claimable again.
+     */
+    List<ScheduledTransition> claimDue(Instant dueBy, String owner, Duration lease, int limit);
+
+    /**
+     * Returns the claim tokens of those {@code ids} that are still leased to {@code owner}, keyed by ID.
+     * Entries that were cancelled or rescheduled in the meantime are missing or carry a new token.
+     */
+    Map<String, String> findLeaseTokens(Collection<String> ids, String owner);
+
+    /**
+     * Removes fired transitions, given as their claim tokens keyed by ID. An entry is only removed while
+     * it still carries that token, so one that was rescheduled and claimed again since is kept.
+     */
+    long complete(Map<String, String> claimTokens);
+}
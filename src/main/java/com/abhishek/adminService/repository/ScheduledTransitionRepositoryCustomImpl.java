@@ -0,0 +1,79 @@
+package com.abhishek.adminService.repository;
+
+import com.abhishek.adminService.model.ScheduledTransition;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@RequiredArgsConstructor
+public class ScheduledTransitionRepositoryCustomImpl implements ScheduledTransitionRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public List<ScheduledTransition> claimDue(Instant dueBy, String owner, Duration lease, int limit) {
+        Instant now = Instant.now();
+        Criteria claimable = Criteria.where("fireAt").lte(dueBy)
+                .orOperator(Criteria.where("leaseUntil").is(null), Criteria.where("leaseUntil").lt(now));
+
+        Query candidates = new Query(claimable).with(Sort.by("fireAt")).limit(limit);
+        candidates.fields().include("_id");
+        List<String> ids = mongoTemplate.find(candidates, ScheduledTransition.class).stream()
+                .map(ScheduledTransition::getId)
+                .toList();
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        // re-check the claim condition so that a concurrent node only wins the entries it updated itself
+        String claimToken = UUID.randomUUID().toString();
+        mongoTemplate.updateMulti(
+                new Query(Criteria.where("_id").in(ids).andOperator(claimable)),
+                new Update().set("leaseOwner", owner)
+                        .set("leaseUntil", now.plus(lease))
+                        .set("claimToken", claimToken),
+                ScheduledTransition.class);
+
+        return mongoTemplate.find(
+                new Query(Criteria.where("claimToken").is(claimToken)).with(Sort.by("fireAt")),
+                ScheduledTransition.class);
+    }
+
+    @Override
+    public Map<String, String> findLeaseTokens(Collection<String> ids, String owner) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        Query query = new Query(Criteria.where("_id").in(ids).and("leaseOwner").is(owner));
+        query.fields().include("_id", "claimToken");
+        return mongoTemplate.find(query, ScheduledTransition.class).stream()
+                .collect(Collectors.toMap(ScheduledTransition::getId, ScheduledTransition::getClaimToken));
+    }
+
+    @Override
+    public long complete(Map<String, String> claimTokens) {
+        if (claimTokens.isEmpty()) {
+            return 0;
+        }
+        // one clause per claim, as every poll leases its batch under a single token
+        Map<String, List<String>> idsByToken = claimTokens.entrySet().stream()
+                .collect(Collectors.groupingBy(Map.Entry::getValue,
+                        Collectors.mapping(Map.Entry::getKey, Collectors.toList())));
+        Criteria[] claims = idsByToken.entrySet().stream()
+                .map(claim -> Criteria.where("_id").in(claim.getValue()).and("claimToken").is(claim.getKey()))
+                .toArray(Criteria[]::new);
+        return mongoTemplate.remove(new Query(new Criteria().orOperator(claims)), ScheduledTransition.class)
+                .getDeletedCount();
+    }
+}
@@ -0,0 +1,23 @@
+package com.abhishek.adminService.repository;
+
+import com.abhishek.adminService.model.TestAssignment;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.util.List;
+
+public interface TestAssignmentRepository extends MongoRepository<TestAssignment, String>,
+        TestAssignmentRepositoryCustom {
+
+    List<TestAssignment> findByCandidateIdOrderByTestIdAsc(String candidateId, Limit limit);
+
+    List<TestAssignment> findByCandidateIdAndTestIdGreaterThanOrderByTestIdAsc(String candidateId,
+                                                                              String afterTestId, Limit limit);
+
+    List<TestAssignment> findByTestIdOrderByCandidateIdAsc(String testId, Limit limit);
+
+    List<TestAssignment> findByTestIdAndCandidateIdGreaterThanOrderByCandidateIdAsc(String testId,
+                                                                                   String afterCandidateId, Limit limit);
+
+    void deleteByTestId(String testId);
+}
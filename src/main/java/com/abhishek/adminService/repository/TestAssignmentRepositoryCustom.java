@@ -0,0 +1,13 @@
+package com.abhishek.adminService.repository;
+
+import java.util.Collection;
+
+public interface TestAssignmentRepositoryCustom {
+
+    /**
+     * Inserts the assignments with one unordered bulk write, skipping candidates already assigned.
+     *
+     * @return the number of newly assigned candidates
+     */
+    long assign(String testId, Collection<String> candidateIds);
+}
@@ -0,0 +1,42 @@
+package com.abhishek.adminService.repository;
+
+import com.abhishek.adminService.model.TestAssignment;
+import com.mongodb.ErrorCategory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.Instant;
+import java.util.Collection;
+
+@RequiredArgsConstructor
+public class TestAssignmentRepositoryCustomImpl implements TestAssignmentRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public long assign(String testId, Collection<String> candidateIds) {
+        if (candidateIds.isEmpty()) {
+            return 0;
+        }
+
+        Instant now = Instant.now();
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TestAssignment.class);
+        candidateIds.stream()
+                .distinct()
+                .forEach(candidateId -> bulk.insert(TestAssignment.of(testId, candidateId, now)));
+
+        try {
+            return bulk.execute().getInsertedCount();
+        } catch (BulkOperationException e) {
+            // duplicates are candidates that were already assigned; anything else is a real failure
+            boolean onlyDuplicates = e.getErrors().stream()
+                    .allMatch(error -> ErrorCategory.fromErrorCode(error.getCode()) == ErrorCategory.DUPLICATE_KEY);
+            if (!onlyDuplicates) {
+                throw e;
+            }
+            return e.getResult().getInsertedCount();
+        }
+    }
+}
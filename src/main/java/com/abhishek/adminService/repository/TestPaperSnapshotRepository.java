@@ -0,0 +1,8 @@
+package com.abhishek.adminService.repository;
+
+import com.abhishek.adminService.model.TestPaperSnapshot;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface TestPaperSnapshotRepository extends MongoRepository<TestPaperSnapshot, String> {
+    void deleteByQuestionIdsContaining(String questionId);
+}
@@ -1,10 +1,19 @@
 package com.abhishek.adminService.repository;
 
 import com.abhishek.adminService.model.Test;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 
 import java.util.List;
 
-public interface TestRepository extends MongoRepository<Test, String> {
-    List<Test> findByAssignedCandidatesContains(String candidateId);
-}
\ No newline at end of file
+public interface TestRepository extends MongoRepository<Test, String>, TestRepositoryCustom {
+    String LIST_FIELDS = "{ 'name': 1, 'description': 1, 'durationMinutes': 1, 'startAt': 1, 'endAt': 1, 'scheduled': 1, 'active': 1 }";
+
+    @Query(value = "{}", fields = LIST_FIELDS, sort = "{ '_id': 1 }")
+    List<Test> findPage(Limit limit);
+
+    @Query(value = "{ '_id': { $gt: ?0 } }", fields = LIST_FIELDS, sort = "{ '_id': 1 }")
+    List<Test> findPageAfter(ObjectId after, Limit limit);
+}
@@ -0,0 +1,44 @@
+package com.abhishek.adminService.repository;
+
+import com.abhishek.adminService.model.Test;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Field-level updates for {@link Test}. Each method is a single {@code $set} write guarded by the
+ * state it expects, so concurrent transitions cannot overwrite each other.
+ */
+public interface TestRepositoryCustom {
+
+    /**
+     * Overwrites the editable fields of a test and returns the updated document.
+     */
+    Optional<Test> updateDetails(Test details);
+
+    boolean markScheduled(String testId);
+
+    /**
+     * Activates a test, but only if it is scheduled and not already active.
+     */
+    boolean activate(String testId);
+
+    /**
+     * Deactivates a test, but only if it is currently active.
+     */
+    boolean deactivate(String testId);
+
+    /**
+     * Bulk variant of {@link #activate(String)} in a single {@code updateMany}.
+     *
+     * @return the number of tests that were activated
+     */
+    long activateAll(Collection<String> testIds);
+
+    /**
+     * Bulk variant of {@link #deactivate(String)} in a single {@code updateMany}.
+     *
+     * @return the number of tests that were deactivated
+     */
+    long deactivateAll(Collection<String> testIds);
+}
@@ -0,0 +1,81 @@
+package com.abhishek.adminService.repository;
+
+import com.abhishek.adminService.model.Test;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Collection;
+import java.util.Optional;
+
+@RequiredArgsConstructor
+public class TestRepositoryCustomImpl implements TestRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public Optional<Test> updateDetails(Test details) {
+        Update update = new Update()
+                .set("name", details.getName())
+                .set("description", details.getDescription())
+                .set("categoryIds", details.getCategoryIds())
+                .set("questionIds", details.getQuestionIds())
+                .set("durationMinutes", details.getDurationMinutes())
+                .set("startAt", details.getStartAt())
+                .set("endAt", details.getEndAt());
+        return Optional.ofNullable(mongoTemplate.findAndModify(
+                new Query(Criteria.where("_id").is(details.getId())),
+                update,
+                FindAndModifyOptions.options().returnNew(true),
+                Test.class));
+    }
+
+    @Override
+    public boolean markScheduled(String testId) {
+        return mongoTemplate.updateFirst(
+                new Query(Criteria.where("_id").is(testId)),
+                Update.update("scheduled", true),
+                Test.class).getMatchedCount() > 0;
+    }
+
+    @Override
+    public boolean activate(String testId) {
+        return mongoTemplate.updateFirst(activatable(Criteria.where("_id").is(testId)),
+                Update.update("active", true), Test.class).getModifiedCount() > 0;
+    }
+
+    @Override
+    public boolean deactivate(String testId) {
+        return mongoTemplate.updateFirst(deactivatable(Criteria.where("_id").is(testId)),
+                Update.update("active", false), Test.class).getModifiedCount() > 0;
+    }
+
+    @Override
+    public long activateAll(Collection<String> testIds) {
+        if (testIds.isEmpty()) {
+            return 0;
+        }
+        return mongoTemplate.updateMulti(activatable(Criteria.where("_id").in(testIds)),
+                Update.update("active", true), Test.class).getModifiedCount();
+    }
+
+    @Override
+    public long deactivateAll(Collection<String> testIds) {
+        if (testIds.isEmpty()) {
+            return 0;
+        }
+        return mongoTemplate.updateMulti(deactivatable(Criteria.where("_id").in(testIds)),
+                Update.update("active", false), Test.class).getModifiedCount();
+    }
+
+    private Query activatable(Criteria ids) {
+        return new Query(ids.and("scheduled").is(true).and("active").is(false));
+    }
+
+    private Query deactivatable(Criteria ids) {
+        return new Query(ids.and("active").is(true));
+    }
+}
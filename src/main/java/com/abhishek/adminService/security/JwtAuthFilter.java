@@ -1,7 +1,5 @@
 package com.abhishek.adminService.security;
 
-import com.abhishek.adminService.util.JwtUtil;
-import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -9,22 +7,18 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.Collection;
-import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 @Component
 @RequiredArgsConstructor
 public class JwtAuthFilter extends OncePerRequestFilter {
-    private final JwtUtil jwtUtil;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final WebAuthenticationDetailsSource detailsSource = new WebAuthenticationDetailsSource();
 
 
     @Override
@@ -37,14 +31,11 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
         final String token = authHeader.substring(7);
         try {
-            Claims claims = jwtUtil.parseClaims(token);
-            String userId = claims.getSubject();
-            Object rolesObj = claims.get("roles");
+            VerifiedTokenCache.VerifiedToken verified = verifiedTokenCache.verify(token);
+            String userId = verified.userId();
 
-            Collection<SimpleGrantedAuthority> authorities = extractAuthorities(rolesObj);
-
-            UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(userId, null, authorities);
-            authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(userId, null, verified.authorities());
+            authentication.setDetails(detailsSource.buildDetails(request));
             SecurityContextHolder.getContext().setAuthentication(authentication);
 
             // expose user id for controllers via header-like attribute
@@ -54,15 +45,4 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         }
         chain.doFilter(request, response);
     }
-
-    @SuppressWarnings("unchecked")
-    private Collection<SimpleGrantedAuthority> extractAuthorities(Object rolesObj) {
-        if (rolesObj == null) return List.of();
-        if (rolesObj instanceof List<?>) {
-            return ((List<?>) rolesObj).stream().map(Object::toString).map(r -> new SimpleGrantedAuthority("ROLE_" + r)).collect(Collectors.toList());
-        } else {
-            String rolesStr = rolesObj.toString();
-            return Stream.of(rolesStr.split(",")).map(String::trim).filter(s -> !s.isEmpty()).map(r -> new SimpleGrantedAuthority("ROLE_" + r)).collect(Collectors.toList());
-        }
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,138 @@
+package com.abhishek.adminService.security;
+
+import com.abhishek.adminService.util.JwtUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers the outcome of verifying a JWT, so a token is only parsed and its signature checked the
+ * first time it is seen.
+ * <p>
+ * Entries are keyed by the SHA-256 digest of the token rather than the token itself and expire at the
+ * token's {@code exp} claim, capped at {@code jwt.cache.max-ttl}; tokens without an expiry are
+ * not cached. Only successfully verified tokens are stored. Authority lists are shared between all
+ * tokens with the same roles, since there are only a handful of role combinations.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private static final int MAX_ROLE_SETS = 1024;
+
+    private final JwtUtil jwtUtil;
+    private final Duration maxTtl;
+    private final MessageDigest digestPrototype;
+    private final Cache<ByteBuffer, VerifiedToken> tokens;
+    private final Map<List<String>, List<GrantedAuthority>> authoritiesByRoles = new ConcurrentHashMap<>();
+
+    public VerifiedTokenCache(JwtUtil jwtUtil,
+                              @Value("${jwt.cache.max-size:100000}") long maxSize,
+                              @Value("${jwt.cache.max-ttl:PT5M}") Duration maxTtl,
+                              MeterRegistry meterRegistry) {
+        this.jwtUtil = jwtUtil;
+        this.maxTtl = maxTtl;
+        try {
+            this.digestPrototype = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        this.tokens = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(Expiry.creating((ByteBuffer digest, VerifiedToken token) -> token.ttl()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, tokens, "jwt.verified");
+    }
+
+    /**
+     * Returns the verified identity behind {@code token}.
+     *
+     * @throws io.jsonwebtoken.JwtException when the token is malformed, forged or expired
+     */
+    public VerifiedToken verify(String token) {
+        ByteBuffer digest = digest(token);
+        VerifiedToken cached = tokens.getIfPresent(digest);
+        if (cached != null) {
+            return cached;
+        }
+
+        VerifiedToken verified = toVerifiedToken(jwtUtil.parseClaims(token));
+        if (!verified.ttl().isZero() && !verified.ttl().isNegative()) {
+            tokens.put(digest, verified);
+        }
+        return verified;
+    }
+
+    private VerifiedToken toVerifiedToken(Claims claims) {
+        Date expiration = claims.getExpiration();
+        Duration ttl = expiration == null
+                ? Duration.ZERO
+                : Duration.ofMillis(expiration.getTime() - System.currentTimeMillis());
+        if (ttl.compareTo(maxTtl) > 0) {
+            ttl = maxTtl;
+        }
+        return new VerifiedToken(claims.getSubject(), authorities(claims.get("roles")), ttl);
+    }
+
+    private List<GrantedAuthority> authorities(Object rolesObj) {
+        List<String> roles = new ArrayList<>();
+        if (rolesObj instanceof List<?> list) {
+            list.forEach(role -> roles.add(role.toString()));
+        } else if (rolesObj != null) {
+            for (String role : rolesObj.toString().split(",")) {
+                if (!role.trim().isEmpty()) {
+                    roles.add(role.trim());
+                }
+            }
+        }
+
+        List<GrantedAuthority> interned = authoritiesByRoles.get(roles);
+        if (interned != null) {
+            return interned;
+        }
+        List<GrantedAuthority> authorities = roles.stream()
+                .<GrantedAuthority>map(role -> new SimpleGrantedAuthority("ROLE_" + role))
+                .toList();
+        if (authoritiesByRoles.size() < MAX_ROLE_SETS) {
+            List<GrantedAuthority> previous = authoritiesByRoles.putIfAbsent(List.copyOf(roles), authorities);
+            return previous != null ? previous : authorities;
+        }
+        return authorities;
+    }
+
+    private ByteBuffer digest(String token) {
+        MessageDigest digest;
+        try {
+            // cloning skips the provider lookup of MessageDigest.getInstance
+            digest = (MessageDigest) digestPrototype.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+        return ByteBuffer.wrap(digest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    /**
+     * @param ttl how long the verification may be reused, at most until the token expires
+     */
+    public record VerifiedToken(String userId, Collection<GrantedAuthority> authorities, Duration ttl) {
+    }
+}
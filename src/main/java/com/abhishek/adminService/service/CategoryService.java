@@ -1,21 +1,33 @@
 package com.abhishek.adminService.service;
 
 import com.abhishek.adminService.dto.CreateCategoryRequest;
+import com.abhishek.adminService.dto.CursorPage;
 import com.abhishek.adminService.exception.CategoryNotFoundException;
 import com.abhishek.adminService.model.Category;
 import com.abhishek.adminService.repository.CategoryRepository;
+import com.abhishek.adminService.util.Pagination;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 
+import static com.abhishek.adminService.constant.Constants.CACHE_CATEGORIES;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class CategoryService {
     private final CategoryRepository categoryRepository;
 
+    @Value("${pagination.max-page-size:500}")
+    private int maxPageSize;
+
+    @CacheEvict(cacheNames = CACHE_CATEGORIES, allEntries = true)
     public Category createCategory(CreateCategoryRequest request) {
         log.info("Creating category: {}", request.getName());
 
@@ -29,6 +41,7 @@ public class CategoryService {
         return savedCategory;
     }
 
+    @Cacheable(cacheNames = CACHE_CATEGORIES, key = "'all'")
     public List<Category> findAllCategories() {
         log.info("Fetching all categories");
         List<Category> categories = categoryRepository.findAll();
@@ -36,6 +49,20 @@ public class CategoryService {
         return categories;
     }
 
+    /**
+     * Pages through categories in {@code _id} order, starting after the {@code after} cursor.
+     */
+    public CursorPage<Category> findCategoriesPage(String after, int limit) {
+        log.info("Fetching page of categories after: {}", after);
+        Limit pageLimit = Pagination.limit(limit, maxPageSize);
+        List<Category> categories = after == null
+                ? categoryRepository.findPage(pageLimit)
+                : categoryRepository.findPageAfter(Pagination.objectIdCursor(after), pageLimit);
+        log.debug("Found {} categories", categories.size());
+        return CursorPage.of(categories, pageLimit.max(), Category::getId);
+    }
+
+    @CacheEvict(cacheNames = CACHE_CATEGORIES, allEntries = true)
     public Category updateCategory(String id, CreateCategoryRequest request) {
         log.info("Updating category: {}", id);
 
@@ -55,6 +82,7 @@ public class CategoryService {
         return updatedCategory;
     }
 
+    @CacheEvict(cacheNames = CACHE_CATEGORIES, allEntries = true)
     public void deleteCategory(String id) {
         log.info("Deleting category: {}", id);
 
@@ -0,0 +1,368 @@
+package com.abhishek.adminService.service;
+
+import com.abhishek.adminService.dto.CreateQuestionRequest;
+import com.abhishek.adminService.dto.ImportReport;
+import com.abhishek.adminService.model.Category;
+import com.abhishek.adminService.model.Question;
+import com.abhishek.adminService.repository.QuestionRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.abhishek.adminService.constant.Constants.CACHE_QUESTIONS_BY_CATEGORY;
+
+/**
+ * Bulk question import from CSV or NDJSON.
+ * <p>
+ * The body is read sequentially and cut into batches of {@code question-import.batch-size} rows.
+ * Each batch is decoded, validated, mapped and written with one unordered bulk insert on the
+ * application task executor, with at most {@code question-import.parallelism} batches in flight, so
+ * memory stays bounded however large the upload is. Rows that fail are reported by row number
+ * instead of failing the import.
+ * <p>
+ * CSV uploads need a header row with {@code categoryId}, {@code difficulty}, {@code text} and
+ * {@code correctOptionId} columns plus one {@code option.<id>} column per answer option; blank
+ * option cells are skipped. CSV rows are numbered from the first record after the header, NDJSON
+ * rows by line.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class QuestionImportService {
+
+    private static final Set<String> DIFFICULTIES = Set.of("EASY", "MEDIUM", "HARD");
+    private static final String OPTION_COLUMN_PREFIX = "option.";
+
+    private final QuestionRepository questionRepository;
+    private final CategoryService categoryService;
+    private final CacheManager cacheManager;
+    private final ObjectMapper objectMapper;
+    private final AsyncTaskExecutor applicationTaskExecutor;
+
+    private final CsvMapper csvMapper = new CsvMapper();
+
+    @Value("${question-import.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${question-import.parallelism:4}")
+    private int parallelism;
+
+    @Value("${question-import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    public ImportReport importNdjson(Reader body, String createdBy) {
+        log.info("Importing questions from NDJSON, created by: {}", createdBy);
+        ObjectReader reader = objectMapper.readerFor(CreateQuestionRequest.class);
+        return runImport(ndjsonRows(body), line -> {
+            try {
+                return reader.readValue(line);
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("Malformed JSON: " + e.getOriginalMessage(), e);
+            }
+        }, createdBy);
+    }
+
+    public ImportReport importCsv(Reader body, String createdBy) throws IOException {
+        log.info("Importing questions from CSV, created by: {}", createdBy);
+        MappingIterator<Map<String, String>> records = csvMapper.readerForMapOf(String.class)
+                .with(CsvSchema.emptySchema().withHeader())
+                .readValues(body);
+        return runImport(csvRows(records), QuestionImportService::fromCsv, createdBy);
+    }
+
+    private <R> ImportReport runImport(Iterator<Row<R>> rows, Function<R, CreateQuestionRequest> decoder,
+                                       String createdBy) {
+        long started = System.nanoTime();
+        Set<String> categoryIds = categoryService.findAllCategories().stream()
+                .map(Category::getId)
+                .collect(Collectors.toSet());
+        Tally tally = new Tally(maxReportedErrors);
+
+        Deque<CompletableFuture<Void>> inFlight = new ArrayDeque<>();
+        try {
+            while (rows.hasNext()) {
+                List<Row<R>> batch = new ArrayList<>(batchSize);
+                while (batch.size() < batchSize && rows.hasNext()) {
+                    batch.add(rows.next());
+                }
+                if (inFlight.size() >= parallelism) {
+                    inFlight.removeFirst().join();
+                }
+                inFlight.addLast(CompletableFuture.runAsync(
+                        () -> importBatch(batch, decoder, categoryIds, createdBy, tally), applicationTaskExecutor));
+            }
+            while (!inFlight.isEmpty()) {
+                inFlight.removeFirst().join();
+            }
+        } catch (RuntimeException e) {
+            RuntimeException failure = e instanceof CompletionException && e.getCause() instanceof RuntimeException cause
+                    ? cause
+                    : e;
+            // batches already handed off keep writing, so wait for them before the cache is cleared
+            while (!inFlight.isEmpty()) {
+                try {
+                    inFlight.removeFirst().join();
+                } catch (CompletionException other) {
+                    failure.addSuppressed(other.getCause() != null ? other.getCause() : other);
+                }
+            }
+            throw failure;
+        } finally {
+            // cleared even when the import fails midway, as earlier batches are already written
+            Cache byCategory = cacheManager.getCache(CACHE_QUESTIONS_BY_CATEGORY);
+            if (byCategory != null) {
+                byCategory.clear();
+            }
+        }
+
+        ImportReport report = tally.toReport(System.nanoTime() - started);
+        log.info("Imported {} of {} questions in {} ms ({} rows/s), {} failed", report.getImported(),
+                report.getReceived(), report.getDurationMs(), Math.round(report.getRowsPerSecond()),
+                report.getFailed());
+        return report;
+    }
+
+    private <R> void importBatch(List<Row<R>> batch, Function<R, CreateQuestionRequest> decoder,
+                                 Set<String> categoryIds, String createdBy, Tally tally) {
+        Instant now = Instant.now();
+        List<Question> questions = new ArrayList<>(batch.size());
+        List<Long> questionRows = new ArrayList<>(batch.size());
+
+        for (Row<R> row : batch) {
+            try {
+                CreateQuestionRequest request = decoder.apply(row.value());
+                String problem = validate(request, categoryIds);
+                if (problem != null) {
+                    tally.fail(row.number(), problem);
+                    continue;
+                }
+                questions.add(toQuestion(request, createdBy, now));
+                questionRows.add(row.number());
+            } catch (IllegalArgumentException e) {
+                tally.fail(row.number(), e.getMessage());
+            }
+        }
+
+        Map<Integer, String> failures = questionRepository.insertUnordered(questions);
+        failures.forEach((index, message) -> tally.fail(questionRows.get(index), message));
+        tally.received(batch.size());
+        tally.imported(questions.size() - failures.size());
+    }
+
+    private static String validate(CreateQuestionRequest request, Set<String> categoryIds) {
+        if (request == null) {
+            return "Row is empty";
+        }
+        if (isBlank(request.getText())) {
+            return "text is required";
+        }
+        if (isBlank(request.getCategoryId())) {
+            return "categoryId is required";
+        }
+        if (!categoryIds.contains(request.getCategoryId())) {
+            return "Unknown categoryId: " + request.getCategoryId();
+        }
+        if (request.getDifficulty() == null || !DIFFICULTIES.contains(request.getDifficulty())) {
+            return "difficulty must be one of " + DIFFICULTIES;
+        }
+        if (request.getOptions() == null || request.getOptions().size() < 2) {
+            return "At least two options are required";
+        }
+
+        Set<String> optionIds = new HashSet<>();
+        for (CreateQuestionRequest.OptionDto option : request.getOptions()) {
+            if (isBlank(option.getId()) || isBlank(option.getText())) {
+                return "Every option needs an id and text";
+            }
+            if (!optionIds.add(option.getId())) {
+                return "Duplicate option id: " + option.getId();
+            }
+        }
+        if (!optionIds.contains(request.getCorrectOptionId())) {
+            return "correctOptionId must match one of the options";
+        }
+        return null;
+    }
+
+    private static Question toQuestion(CreateQuestionRequest request, String createdBy, Instant createdAt) {
+        Question question = new Question();
+        question.setCategoryId(request.getCategoryId());
+        question.setDifficulty(request.getDifficulty());
+        question.setText(request.getText());
+        question.setOptions(request.getOptions().stream().map(optionDto -> {
+            Question.Option option = new Question.Option();
+            option.setId(optionDto.getId());
+            option.setText(optionDto.getText());
+            return option;
+        }).toList());
+        question.setCorrectOptionId(request.getCorrectOptionId());
+        question.setCreatedAt(createdAt);
+        question.setCreatedBy(createdBy);
+        return question;
+    }
+
+    private static CreateQuestionRequest fromCsv(Map<String, String> record) {
+        CreateQuestionRequest request = new CreateQuestionRequest();
+        request.setCategoryId(record.get("categoryId"));
+        request.setDifficulty(record.get("difficulty"));
+        request.setText(record.get("text"));
+        request.setCorrectOptionId(record.get("correctOptionId"));
+
+        List<CreateQuestionRequest.OptionDto> options = new ArrayList<>();
+        record.forEach((column, value) -> {
+            if (column.startsWith(OPTION_COLUMN_PREFIX) && !isBlank(value)) {
+                CreateQuestionRequest.OptionDto option = new CreateQuestionRequest.OptionDto();
+                option.setId(column.substring(OPTION_COLUMN_PREFIX.length()));
+                option.setText(value);
+                options.add(option);
+            }
+        });
+        request.setOptions(options);
+        return request;
+    }
+
+    private static Iterator<Row<String>> ndjsonRows(Reader body) {
+        BufferedReader reader = body instanceof BufferedReader buffered ? buffered : new BufferedReader(body);
+        return new Iterator<>() {
+            private long lineNumber;
+            private Row<String> next;
+
+            @Override
+            public boolean hasNext() {
+                try {
+                    while (next == null) {
+                        String line = reader.readLine();
+                        if (line == null) {
+                            return false;
+                        }
+                        lineNumber++;
+                        if (!line.isBlank()) {
+                            next = new Row<>(lineNumber, line);
+                        }
+                    }
+                    return true;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+
+            @Override
+            public Row<String> next() {
+                Row<String> row = hasNext() ? next : null;
+                next = null;
+                return row;
+            }
+        };
+    }
+
+    private static Iterator<Row<Map<String, String>>> csvRows(MappingIterator<Map<String, String>> records) {
+        return new Iterator<>() {
+            private long recordNumber;
+
+            @Override
+            public boolean hasNext() {
+                try {
+                    return records.hasNext();
+                } catch (RuntimeJsonMappingException e) {
+                    // the tokenizer cannot resynchronize after a broken row, so the whole import stops
+                    throw new IllegalArgumentException("Malformed CSV after row " + recordNumber, e);
+                }
+            }
+
+            @Override
+            public Row<Map<String, String>> next() {
+                try {
+                    return new Row<>(++recordNumber, records.next());
+                } catch (RuntimeJsonMappingException e) {
+                    throw new IllegalArgumentException("Malformed CSV at row " + recordNumber, e);
+                }
+            }
+        };
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private record Row<R>(long number, R value) {
+    }
+
+    private static final class Tally {
+        private final int maxErrors;
+        private final AtomicLong received = new AtomicLong();
+        private final AtomicLong imported = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final List<ImportReport.RowError> errors = new ArrayList<>();
+
+        private Tally(int maxErrors) {
+            this.maxErrors = maxErrors;
+        }
+
+        void received(long count) {
+            received.addAndGet(count);
+        }
+
+        void imported(long count) {
+            imported.addAndGet(count);
+        }
+
+        void fail(long row, String message) {
+            failed.incrementAndGet();
+            synchronized (errors) {
+                if (errors.size() < maxErrors) {
+                    errors.add(new ImportReport.RowError(row, message));
+                }
+            }
+        }
+
+        ImportReport toReport(long elapsedNanos) {
+            List<ImportReport.RowError> sorted;
+            synchronized (errors) {
+                sorted = new ArrayList<>(errors);
+            }
+            sorted.sort(Comparator.comparingLong(ImportReport.RowError::getRow));
+
+            double seconds = elapsedNanos / 1_000_000_000.0;
+            return ImportReport.builder()
+                    .received(received.get())
+                    .imported(imported.get())
+                    .failed(failed.get())
+                    .durationMs(elapsedNanos / 1_000_000)
+                    .rowsPerSecond(seconds > 0 ? received.get() / seconds : 0)
+                    .errors(sorted)
+                    .errorsTruncated(failed.get() > sorted.size())
+                    .build();
+        }
+    }
+}
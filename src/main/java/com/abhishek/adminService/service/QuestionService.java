@@ -1,23 +1,55 @@
 package com.abhishek.adminService.service;
 
 import com.abhishek.adminService.dto.CreateQuestionRequest;
+import com.abhishek.adminService.dto.CursorPage;
 import com.abhishek.adminService.exception.QuestionNotFoundException;
 import com.abhishek.adminService.model.Question;
 import com.abhishek.adminService.repository.QuestionRepository;
+import com.abhishek.adminService.util.Pagination;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+import static com.abhishek.adminService.constant.Constants.CACHE_QUESTIONS;
+import static com.abhishek.adminService.constant.Constants.CACHE_QUESTIONS_BY_CATEGORY;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class QuestionService {
     private final QuestionRepository questionRepository;
+    private final CacheManager cacheManager;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${pagination.max-page-size:500}")
+    private int maxPageSize;
 
+    @CacheEvict(cacheNames = CACHE_QUESTIONS_BY_CATEGORY, key = "#questionRequest.categoryId",
+            condition = "#questionRequest.categoryId != null")
     public Question createQuestion(CreateQuestionRequest questionRequest, HttpServletRequest servletRequest) {
         String createdBy = (String) servletRequest.getAttribute("principalId");
         log.info("Creating question in category: {}, created by: {}", questionRequest.getCategoryId(), createdBy);
@@ -49,6 +81,20 @@ public class QuestionService {
         return questions;
     }
 
+    /**
+     * Pages through questions in {@code _id} order, starting after the {@code after} cursor.
+     */
+    public CursorPage<Question> findQuestionsPage(String after, int limit) {
+        log.info("Fetching page of questions after: {}", after);
+        Limit pageLimit = Pagination.limit(limit, maxPageSize);
+        List<Question> questions = after == null
+                ? questionRepository.findPage(pageLimit)
+                : questionRepository.findPageAfter(Pagination.objectIdCursor(after), pageLimit);
+        log.debug("Found {} questions", questions.size());
+        return CursorPage.of(questions, pageLimit.max(), Question::getId);
+    }
+
+    @Cacheable(cacheNames = CACHE_QUESTIONS_BY_CATEGORY, key = "#categoryId")
     public List<Question> findByCategory(String categoryId) {
         log.info("Fetching questions for category: {}", categoryId);
         List<Question> questions = questionRepository.findByCategoryId(categoryId);
@@ -56,6 +102,11 @@ public class QuestionService {
         return questions;
     }
 
+    // the question may have moved between categories, so every category listing is dropped
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CACHE_QUESTIONS, key = "#id"),
+            @CacheEvict(cacheNames = CACHE_QUESTIONS_BY_CATEGORY, allEntries = true)
+    })
     public Question updateQuestion(String id, CreateQuestionRequest questionRequest) {
         log.info("Updating question: {}", id);
 
@@ -78,11 +129,16 @@ public class QuestionService {
         question.setCorrectOptionId(questionRequest.getCorrectOptionId());
 
         Question updatedQuestion = questionRepository.save(question);
+        eventPublisher.publishEvent(new QuestionChanged(id));
         log.debug("Question updated successfully: {}", id);
 
         return updatedQuestion;
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CACHE_QUESTIONS, key = "#id"),
+            @CacheEvict(cacheNames = CACHE_QUESTIONS_BY_CATEGORY, allEntries = true)
+    })
     public void deleteQuestion(String id) {
         log.info("Deleting question: {}", id);
 
@@ -92,13 +148,74 @@ public class QuestionService {
         }
 
         questionRepository.deleteById(id);
+        eventPublisher.publishEvent(new QuestionChanged(id));
         log.debug("Question deleted successfully: {}", id);
     }
 
+    /**
+     * Writes every question as one JSON object per line (NDJSON), reading them through a cursor so
+     * memory use does not depend on the size of the question bank.
+     *
+     * @return the number of questions written
+     */
+    public long exportQuestions(OutputStream out) throws IOException {
+        log.info("Exporting question bank");
+        long exported = 0;
+
+        // one generator for the whole export, so rows share its buffer and only fill-ups reach the stream
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+             Stream<Question> questions = questionRepository.streamAllBy()) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+            generator.setRootValueSeparator(new SerializedString("\n"));
+            for (Iterator<Question> it = questions.iterator(); it.hasNext(); exported++) {
+                generator.writeObject(it.next());
+            }
+            if (exported > 0) {
+                generator.writeRaw('\n');
+            }
+        }
+        out.flush();
+
+        log.info("Exported {} questions", exported);
+        return exported;
+    }
+
+    /**
+     * Serves questions from the per-ID cache and loads only the misses from Mongo, in one query.
+     * Questions are returned in the order they were requested.
+     */
     public List<Question> findAllQuestionsById(List<String> ids) {
         log.info("Fetching {} questions by IDs", ids.size());
-        List<Question> questions = questionRepository.findAllById(ids);
+        Cache cache = Objects.requireNonNull(cacheManager.getCache(CACHE_QUESTIONS));
+
+        Map<String, Question> found = new HashMap<>();
+        List<String> misses = new ArrayList<>();
+        for (String id : ids) {
+            Question cached = cache.get(id, Question.class);
+            if (cached != null) {
+                found.put(id, cached);
+            } else {
+                misses.add(id);
+            }
+        }
+
+        if (!misses.isEmpty()) {
+            log.debug("Loading {} uncached questions", misses.size());
+            for (Question question : questionRepository.findAllById(misses)) {
+                cache.put(question.getId(), question);
+                found.put(question.getId(), question);
+            }
+        }
+
+        List<Question> questions = ids.stream().distinct().map(found::get).filter(Objects::nonNull).toList();
         log.debug("Found {} questions out of {} requested", questions.size(), ids.size());
         return questions;
     }
-}
\ No newline at end of file
+
+    /**
+     * Raised after a question was updated or deleted, for anything built from its old content.
+     */
+    public record QuestionChanged(String questionId) {
+    }
+}
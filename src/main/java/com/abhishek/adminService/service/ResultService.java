@@ -0,0 +1,135 @@
+package com.abhishek.adminService.service;
+
+import com.abhishek.adminService.client.ResultsClient;
+import com.abhishek.adminService.exception.DownstreamUnavailableException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Short-lived cache of results-service reads in front of {@link ResultsClient}.
+ * <p>
+ * Test results and candidate histories are kept for {@code results-cache.ttl}. Lookups go through
+ * an async cache, so concurrent requests for the same key share one in-flight upstream call instead
+ * of each starting their own. Every entry carries an ETag derived from its content, which lets
+ * clients revalidate with {@code If-None-Match} and get a bodiless 304 while nothing changed.
+ * Results are the same for every caller allowed to read them, so entries are not keyed by token.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ResultService {
+
+    private static final String RESULTS_SERVICE = "results-service";
+
+    private final ResultsClient resultsClient;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${results-cache.max-size:10000}")
+    private long maxSize;
+
+    @Value("${results-cache.ttl:PT10S}")
+    private Duration ttl;
+
+    @Value("${results-cache.wait-timeout:PT15S}")
+    private Duration waitTimeout;
+
+    private AsyncCache<String, Results> results;
+
+    @PostConstruct
+    void buildCache() {
+        results = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, results.synchronous(), "results");
+    }
+
+    public Results getTestResults(String testId, String bearerToken) {
+        return get("test:" + testId, () -> resultsClient.getTestResults(testId, bearerToken));
+    }
+
+    public Results getCandidateHistory(String candidateId, String bearerToken) {
+        return get("candidate:" + candidateId, () -> resultsClient.getCandidateHistory(candidateId, bearerToken));
+    }
+
+    private Results get(String key, Supplier<List<Map<String, Object>>> loader) {
+        CompletableFuture<Results> loading = new CompletableFuture<>();
+        CompletableFuture<Results> inFlight = results.asMap().putIfAbsent(key, loading);
+        if (inFlight != null) {
+            return await(key, inFlight);
+        }
+
+        // the first caller loads on its own thread; a pool would cap how many loads run at once
+        log.debug("Loading {} from results-service", key);
+        try {
+            List<Map<String, Object>> data = loader.get();
+            Results loaded = new Results(data, etagOf(data));
+            loading.complete(loaded);
+            return loaded;
+        } catch (Throwable e) {
+            // failed loads are dropped from the cache, so the next request tries again; errors too, or
+            // every later request for the key would wait on a future nobody completes
+            loading.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Waits for another request's load of the same key, but no longer than {@code results-cache.wait-timeout}.
+     */
+    private Results await(String key, CompletableFuture<Results> inFlight) {
+        try {
+            return inFlight.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new CompletionException(e.getCause());
+        } catch (TimeoutException e) {
+            log.warn("Gave up waiting {} ms for a concurrent load of {}", waitTimeout.toMillis(), key);
+            throw new DownstreamUnavailableException(RESULTS_SERVICE, "timed out waiting for a concurrent load", e);
+        } catch (CancellationException e) {
+            throw new DownstreamUnavailableException(RESULTS_SERVICE, "concurrent load was abandoned", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DownstreamUnavailableException(RESULTS_SERVICE, "interrupted while waiting for a load", e);
+        }
+    }
+
+    private String etagOf(List<Map<String, Object>> data) {
+        try {
+            return "\"" + DigestUtils.md5DigestAsHex(objectMapper.writeValueAsBytes(data)) + "\"";
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to encode results", e);
+        }
+    }
+
+    public record Results(List<Map<String, Object>> data, String etag) {
+    }
+}
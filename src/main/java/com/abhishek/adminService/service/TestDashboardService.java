@@ -0,0 +1,158 @@
+package com.abhishek.adminService.service;
+
+import com.abhishek.adminService.dto.CursorPage;
+import com.abhishek.adminService.dto.TestDashboard;
+import com.abhishek.adminService.dto.UserDTO;
+import com.abhishek.adminService.exception.TestNotFoundException;
+import com.abhishek.adminService.model.Question;
+import com.abhishek.adminService.model.Test;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Assembles the admin dashboard of a test in one request.
+ * <p>
+ * Once the test itself is loaded, its questions, results (results-service) and first page of
+ * assigned candidates (with auth-service user details) are fetched concurrently on a pool of
+ * {@code dashboard.parallelism} threads of their own. Each lookup gets {@code dashboard.call-timeout};
+ * one that fails or runs out of time leaves its section empty and is reported in
+ * {@link TestDashboard#getUnavailable()}, so the page takes as long as the slowest lookup, never longer
+ * than the timeout. A lookup that times out is interrupted, and once {@code dashboard.queue-capacity}
+ * lookups are waiting new ones are rejected, so slow downstreams cannot pile up work behind the page.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TestDashboardService {
+
+    private final TestService testService;
+    private final QuestionService questionService;
+    private final ResultService resultService;
+    private final UserDirectoryService userDirectoryService;
+
+    @Value("${dashboard.call-timeout:PT2S}")
+    private Duration callTimeout;
+
+    @Value("${dashboard.parallelism:16}")
+    private int parallelism;
+
+    @Value("${dashboard.queue-capacity:32}")
+    private int queueCapacity;
+
+    private ThreadPoolTaskExecutor lookups;
+
+    @PostConstruct
+    void startLookups() {
+        lookups = new ThreadPoolTaskExecutor();
+        lookups.setCorePoolSize(parallelism);
+        lookups.setMaxPoolSize(parallelism);
+        lookups.setQueueCapacity(queueCapacity);
+        lookups.setThreadNamePrefix("dashboard-lookup-");
+        lookups.setDaemon(true);
+        lookups.initialize();
+    }
+
+    @PreDestroy
+    void stopLookups() {
+        lookups.shutdown();
+    }
+
+    public TestDashboard getDashboard(String testId, int candidateLimit, String bearerToken) {
+        log.info("Building dashboard for test: {}", testId);
+        Test test = testService.findById(testId)
+                .orElseThrow(() -> {
+                    log.error("Test not found for dashboard: {}", testId);
+                    return new TestNotFoundException(testId);
+                });
+
+        Map<String, String> unavailable = new TreeMap<>();
+        CompletableFuture<List<Question>> questions = fetch("questions", unavailable,
+                () -> test.getQuestionIds() == null
+                        ? List.of()
+                        : questionService.findAllQuestionsById(test.getQuestionIds()));
+        CompletableFuture<List<Map<String, Object>>> results = fetch("results", unavailable,
+                () -> resultService.getTestResults(testId, bearerToken).data());
+        CompletableFuture<CursorPage<UserDTO>> candidates = fetch("candidates", unavailable,
+                () -> getCandidates(testId, candidateLimit, bearerToken));
+        CompletableFuture.allOf(questions, results, candidates).join();
+
+        log.debug("Dashboard for test {} built, unavailable sections: {}", testId, unavailable.keySet());
+        return TestDashboard.builder()
+                .test(test)
+                .questions(questions.join())
+                .results(results.join())
+                .candidates(candidates.join())
+                .unavailable(unavailable)
+                .build();
+    }
+
+    private CursorPage<UserDTO> getCandidates(String testId, int limit, String bearerToken) {
+        CursorPage<String> candidateIds = testService.getAssignedCandidates(testId, null, limit);
+        Map<String, UserDTO> users = userDirectoryService.getUsers(candidateIds.getItems(), bearerToken);
+
+        // candidates auth-service does not know are still listed, by ID only
+        List<UserDTO> candidates = candidateIds.getItems().stream()
+                .map(id -> users.containsKey(id) ? users.get(id) : idOnly(id))
+                .toList();
+        return CursorPage.<UserDTO>builder()
+                .items(candidates)
+                .nextCursor(candidateIds.getNextCursor())
+                .build();
+    }
+
+    private static UserDTO idOnly(String userId) {
+        UserDTO user = new UserDTO();
+        user.setId(userId);
+        return user;
+    }
+
+    private <T> CompletableFuture<T> fetch(String section, Map<String, String> unavailable, Supplier<T> lookup) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        try {
+            Future<?> task = lookups.submit(() -> {
+                try {
+                    result.complete(lookup.get());
+                } catch (Throwable e) {
+                    result.completeExceptionally(e);
+                }
+            });
+            result.orTimeout(callTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                    .whenComplete((value, e) -> {
+                        if (e instanceof TimeoutException) {
+                            task.cancel(true);
+                        }
+                    });
+        } catch (TaskRejectedException e) {
+            result.completeExceptionally(new IllegalStateException("too many dashboard lookups in progress", e));
+        }
+
+        return result.exceptionally(e -> {
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            String reason = cause instanceof TimeoutException
+                    ? "timed out after " + callTimeout.toMillis() + " ms"
+                    : cause.getMessage();
+            log.warn("Dashboard section {} unavailable: {}", section, reason);
+            synchronized (unavailable) {
+                unavailable.put(section, reason);
+            }
+            return null;
+        });
+    }
+}
@@ -0,0 +1,201 @@
+package com.abhishek.adminService.service;
+
+import com.abhishek.adminService.dto.ApiResponse;
+import com.abhishek.adminService.dto.TestPaper;
+import com.abhishek.adminService.exception.TestNotFoundException;
+import com.abhishek.adminService.model.Question;
+import com.abhishek.adminService.model.Test;
+import com.abhishek.adminService.model.TestPaperSnapshot;
+import com.abhishek.adminService.repository.TestPaperSnapshotRepository;
+import com.abhishek.adminService.repository.TestRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static com.abhishek.adminService.constant.Constants.MSG_PAPER_FETCHED;
+
+/**
+ * Builds and serves frozen test papers.
+ * <p>
+ * A paper is built when a test is scheduled: its questions are resolved, the correct answers are
+ * stripped and the whole {@link ApiResponse} is encoded to JSON once. Candidate reads then return
+ * those bytes as they are, with no per-request lookups or mapping. Papers live in memory and, with
+ * {@code paper.persist} enabled, in the {@code test_papers} collection as well.
+ * <p>
+ * A paper is kept until the test is changed, rescheduled or deleted, or one of its questions is
+ * updated or deleted, and otherwise until {@code paper.cache.retain-after-end} past the test's end.
+ * Misses are loaded through the cache, so concurrent reads of the same test wait for a single build,
+ * and a rebuild after a change is serialized with those loads and always reads the latest test.
+ * The in-memory copies of other replicas are not told about those changes; they are only rebuilt
+ * when the change is made through them too, or once they expire.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TestPaperService {
+
+    private static final Duration MIN_RETENTION = Duration.ofMinutes(1);
+    private static final Duration NEVER = Duration.ofNanos(Long.MAX_VALUE);
+
+    private final TestRepository testRepository;
+    private final QuestionService questionService;
+    private final TestPaperSnapshotRepository snapshotRepository;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${paper.cache.max-size:1000}")
+    private long maxSize;
+
+    @Value("${paper.cache.retain-after-end:PT1H}")
+    private Duration retainAfterEnd;
+
+    @Value("${paper.persist:false}")
+    private boolean persist;
+
+    private Cache<String, TestPaperSnapshot> papers;
+
+    @PostConstruct
+    void buildCache() {
+        papers = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(Expiry.<String, TestPaperSnapshot>writing((testId, snapshot) -> untilExpiry(snapshot)))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, papers, "testPapers");
+    }
+
+    /**
+     * Returns the encoded paper of a test, building it first if no replica has done so yet.
+     */
+    public byte[] getPaper(String testId) {
+        return papers.get(testId, this::load).getJson();
+    }
+
+    /**
+     * Replaces the paper after the test was scheduled or changed. The new paper is built from the
+     * stored test once any build still running on the old one has finished, and overwrites the
+     * persisted copy.
+     */
+    public void rebuild(String testId) {
+        // computed under the entry's lock, so it replaces whatever a concurrent load produced
+        papers.asMap().compute(testId, (id, previous) -> build(findTest(id)));
+    }
+
+    public void evict(String testId) {
+        papers.invalidate(testId);
+        if (persist) {
+            snapshotRepository.deleteById(testId);
+        }
+    }
+
+    @EventListener
+    public void onQuestionChanged(QuestionService.QuestionChanged event) {
+        String questionId = event.questionId();
+        papers.asMap().values().removeIf(snapshot -> snapshot.getQuestionIds() != null
+                && snapshot.getQuestionIds().contains(questionId));
+        if (persist) {
+            snapshotRepository.deleteByQuestionIdsContaining(questionId);
+        }
+        log.debug("Evicted papers containing question: {}", questionId);
+    }
+
+    private TestPaperSnapshot load(String testId) {
+        if (persist) {
+            TestPaperSnapshot stored = snapshotRepository.findById(testId).orElse(null);
+            if (stored != null) {
+                return stored;
+            }
+        }
+        log.debug("No prebuilt paper for test: {}, building it now", testId);
+        return build(findTest(testId));
+    }
+
+    private Test findTest(String testId) {
+        return testRepository.findById(testId)
+                .orElseThrow(() -> {
+                    log.error("Test not found for paper: {}", testId);
+                    return new TestNotFoundException(testId);
+                });
+    }
+
+    /**
+     * Builds the paper from the test's current details and questions.
+     */
+    private TestPaperSnapshot build(Test test) {
+        log.info("Building paper for test: {}", test.getId());
+
+        List<String> questionIds = questionIds(test);
+        TestPaper paper = new TestPaper();
+        paper.setTestId(test.getId());
+        paper.setTestName(test.getName());
+        paper.setDurationMinutes(test.getDurationMinutes());
+        paper.setStartAt(test.getStartAt());
+        paper.setEndAt(test.getEndAt());
+        paper.setQuestions(questionService.findAllQuestionsById(questionIds).stream()
+                .map(this::toPaperQuestion)
+                .toList());
+
+        TestPaperSnapshot snapshot = new TestPaperSnapshot();
+        snapshot.setTestId(test.getId());
+        snapshot.setQuestionIds(questionIds);
+        snapshot.setJson(encode(paper));
+        snapshot.setBuiltAt(Instant.now());
+        snapshot.setEndAt(test.getEndAt() != null ? test.getEndAt().toInstant(ZoneOffset.UTC) : null);
+
+        if (persist) {
+            snapshotRepository.save(snapshot);
+        }
+        log.debug("Built paper for test: {} with {} questions ({} bytes)",
+                test.getId(), paper.getQuestions().size(), snapshot.getJson().length);
+        return snapshot;
+    }
+
+    private Duration untilExpiry(TestPaperSnapshot snapshot) {
+        if (snapshot.getEndAt() == null) {
+            return NEVER;
+        }
+        Duration remaining = Duration.between(Instant.now(), snapshot.getEndAt().plus(retainAfterEnd));
+        // papers of tests that are already over are still kept briefly, so late reads do not rebuild each time
+        return remaining.compareTo(MIN_RETENTION) > 0 ? remaining : MIN_RETENTION;
+    }
+
+    private TestPaper.PaperQuestion toPaperQuestion(Question question) {
+        TestPaper.PaperQuestion paperQuestion = new TestPaper.PaperQuestion();
+        paperQuestion.setId(question.getId());
+        paperQuestion.setCategoryId(question.getCategoryId());
+        paperQuestion.setDifficulty(question.getDifficulty());
+        paperQuestion.setText(question.getText());
+        paperQuestion.setOptions(question.getOptions());
+        return paperQuestion;
+    }
+
+    private byte[] encode(TestPaper paper) {
+        try {
+            return objectMapper.writeValueAsBytes(ApiResponse.<TestPaper>builder()
+                    .message(MSG_PAPER_FETCHED)
+                    .data(paper)
+                    .build());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to encode paper for test: " + paper.getTestId(), e);
+        }
+    }
+
+    private static List<String> questionIds(Test test) {
+        return test.getQuestionIds() == null ? List.of() : List.copyOf(test.getQuestionIds());
+    }
+}
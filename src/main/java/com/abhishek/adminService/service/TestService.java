@@ -1,18 +1,26 @@
 package com.abhishek.adminService.service;
 
-import com.abhishek.adminService.client.AuthClient;
+import com.abhishek.adminService.dto.AssignmentResult;
 import com.abhishek.adminService.dto.CreateTestRequest;
+import com.abhishek.adminService.dto.CursorPage;
 import com.abhishek.adminService.dto.UserDTO;
 import com.abhishek.adminService.dto.event.TestAssignedEvent;
 import com.abhishek.adminService.dto.event.TestScheduledEvent;
 import com.abhishek.adminService.exception.TestNotFoundException;
+import com.abhishek.adminService.model.ScheduledTransition;
 import com.abhishek.adminService.model.Test;
+import com.abhishek.adminService.model.TestAssignment;
+import com.abhishek.adminService.repository.TestAssignmentRepository;
 import com.abhishek.adminService.repository.TestRepository;
 import com.abhishek.adminService.service.publisher.NotificationPublisher;
+import com.abhishek.adminService.service.scheduler.TestLifecycleScheduler;
+import com.abhishek.adminService.util.Pagination;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.TaskScheduler;
-import org.springframework.scheduling.concurrent.ConcurrentTaskScheduler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
@@ -20,12 +28,14 @@ import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.Date;
-import java.util.HashMap;
-import java.util.LinkedHashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.concurrent.ScheduledFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static com.abhishek.adminService.constant.Constants.*;
 
@@ -35,12 +45,18 @@ import static com.abhishek.adminService.constant.Constants.*;
 public class TestService {
 
     private final TestRepository testRepository;
+    private final TestAssignmentRepository assignmentRepository;
     private final NotificationPublisher notificationPublisher;
-    private final AuthClient authClient;
+    private final UserDirectoryService userDirectoryService;
+    private final TestPaperService testPaperService;
+    private final TestLifecycleScheduler lifecycleScheduler;
+    private final ObservationRegistry observationRegistry;
 
-    private final TaskScheduler taskScheduler = new ConcurrentTaskScheduler();
-    private final Map<String, ScheduledFuture<?>> startTasks = new HashMap<>();
-    private final Map<String, ScheduledFuture<?>> endTasks = new HashMap<>();
+    @Value("${assignment.chunk-size:1000}")
+    private int assignmentChunkSize;
+
+    @Value("${pagination.max-page-size:500}")
+    private int maxPageSize;
 
     public Test createTest(CreateTestRequest testRequest) {
         log.info("Creating test: {}", testRequest.getName());
@@ -61,7 +77,7 @@ public class TestService {
 
         if (savedTest.getStartAt() != null) {
             log.debug("Scheduling test: {}", savedTest.getId());
-            return schedule(savedTest.getId());
+            return schedule(savedTest);
         }
 
         return savedTest;
@@ -79,29 +95,45 @@ public class TestService {
         return tests;
     }
 
+    /**
+     * Pages through tests in {@code _id} order, starting after the {@code after} cursor.
+     */
+    public CursorPage<Test> findPage(String after, int limit) {
+        log.info("Fetching page of tests after: {}", after);
+        Limit pageLimit = Pagination.limit(limit, maxPageSize);
+        List<Test> tests = after == null
+                ? testRepository.findPage(pageLimit)
+                : testRepository.findPageAfter(Pagination.objectIdCursor(after), pageLimit);
+        log.debug("Found {} tests", tests.size());
+        return CursorPage.of(tests, pageLimit.max(), Test::getId);
+    }
+
     public Test updateTest(String testId, CreateTestRequest testRequest) {
         log.info("Updating test: {}", testId);
 
-        Test existingTest = testRepository.findById(testId)
+        Test details = new Test();
+        details.setId(testId);
+        details.setName(testRequest.getName());
+        details.setDescription(testRequest.getDescription());
+        details.setCategoryIds(testRequest.getCategoryIds());
+        details.setQuestionIds(testRequest.getQuestionIds());
+        details.setDurationMinutes(testRequest.getDurationMinutes());
+        details.setStartAt(testRequest.getStartAt());
+        details.setEndAt(testRequest.getEndAt());
+
+        Test updatedTest = testRepository.updateDetails(details)
                 .orElseThrow(() -> {
                     log.error("Test not found for update: {}", testId);
                     return new TestNotFoundException(testId);
                 });
-
-        existingTest.setName(testRequest.getName());
-        existingTest.setDescription(testRequest.getDescription());
-        existingTest.setCategoryIds(testRequest.getCategoryIds());
-        existingTest.setQuestionIds(testRequest.getQuestionIds());
-        existingTest.setDurationMinutes(testRequest.getDurationMinutes());
-        existingTest.setStartAt(testRequest.getStartAt());
-        existingTest.setEndAt(testRequest.getEndAt());
-
-        Test updatedTest = testRepository.save(existingTest);
         log.debug("Test updated successfully: {}", testId);
 
         if (updatedTest.getStartAt() != null) {
             log.debug("Rescheduling test: {}", testId);
-            return schedule(updatedTest.getId());
+            return schedule(updatedTest);
+        }
+        if (updatedTest.isScheduled()) {
+            buildPaper(updatedTest);
         }
 
         return updatedTest;
@@ -116,7 +148,9 @@ public class TestService {
         }
 
         testRepository.deleteById(testId);
-        cancelSchedules(testId);
+        assignmentRepository.deleteByTestId(testId);
+        lifecycleScheduler.cancel(testId);
+        testPaperService.evict(testId);
         log.info("Test deleted successfully: {}", testId);
     }
 
@@ -129,13 +163,24 @@ public class TestService {
                     return new TestNotFoundException(testId);
                 });
 
+        return schedule(test);
+    }
+
+    private Test schedule(Test test) {
+        String testId = test.getId();
+
         if (test.getStartAt() == null) {
             log.error("Cannot schedule test without start time: {}", testId);
             throw new IllegalArgumentException(ERROR_START_TIME_REQUIRED);
         }
 
         // cancel existing schedules
-        cancelSchedules(testId);
+        lifecycleScheduler.cancel(testId);
+
+        // transitions only apply to scheduled tests, so flag it before firing any of them
+        testRepository.markScheduled(testId);
+        test.setScheduled(true);
+        buildPaper(test);
 
         // schedule start
         ZoneId zoneId = ZoneId.of("UTC");
@@ -143,8 +188,7 @@ public class TestService {
 
         if (test.getStartAt().isAfter(currentDateTime)) {
             Instant startTime = test.getStartAt().atZone(zoneId).toInstant();
-            ScheduledFuture<?> startFuture = taskScheduler.schedule(() -> startTest(test.getId()), startTime);
-            startTasks.put(test.getId(), startFuture);
+            lifecycleScheduler.schedule(test.getId(), ScheduledTransition.Type.START, startTime);
             log.debug("Test start scheduled for: {}", test.getStartAt());
 
             // Send scheduled notification
@@ -158,125 +202,174 @@ public class TestService {
         } else {
             // start immediately
             log.debug("Test start time is in the past, starting immediately");
-            startTest(test.getId());
+            if (lifecycleScheduler.fireNow(test.getId(), ScheduledTransition.Type.START)) {
+                test.setActive(true);
+            }
         }
 
         // schedule end if present
         if (test.getEndAt() != null) {
             if (test.getEndAt().isAfter(currentDateTime)) {
                 Instant endTime = test.getEndAt().atZone(zoneId).toInstant();
-                ScheduledFuture<?> endFuture = taskScheduler.schedule(() -> endTest(test.getId()), endTime);
-                endTasks.put(test.getId(), endFuture);
+                lifecycleScheduler.schedule(test.getId(), ScheduledTransition.Type.END, endTime);
                 log.debug("Test end scheduled for: {}", test.getEndAt());
             } else {
                 log.debug("Test end time is in the past, ending immediately");
-                endTest(test.getId());
+                if (lifecycleScheduler.fireNow(test.getId(), ScheduledTransition.Type.END)) {
+                    test.setActive(false);
+                }
             }
         }
 
-        test.setScheduled(true);
-        testRepository.save(test);
         log.info("Test scheduled successfully: {}", testId);
         return test;
     }
 
-    private void startTest(String testId) {
-        log.info("Starting test: {}", testId);
-
-        testRepository.findById(testId).ifPresent(test -> {
-            test.setActive(true);
-            testRepository.save(test);
-            log.info("Test activated: {}", testId);
-        });
+    private void buildPaper(Test test) {
+        try {
+            testPaperService.rebuild(test.getId());
+        } catch (Exception e) {
+            // candidates' first read builds it instead
+            log.error("Failed to prebuild paper for test: {}", test.getId(), e);
+        }
     }
 
-    private void endTest(String testId) {
-        log.info("Ending test: {}", testId);
+    public AssignmentResult assignCandidates(String testId, List<String> candidateIds, String bearerToken) {
+        log.info("Assigning {} candidates to test: {}", candidateIds.size(), testId);
+        return assignCandidates(testId, candidateIds.stream(), bearerToken);
+    }
 
-        testRepository.findById(testId).ifPresent(test -> {
-            test.setActive(false);
-            testRepository.save(test);
-            log.info("Test deactivated: {}", testId);
+    /**
+     * Assigns candidates in chunks of {@code assignment.chunk-size}, so arbitrarily large uploads are
+     * applied with a bounded amount of heap and each chunk is a single unordered bulk insert.
+     * <p>
+     * Observed as {@code test.assign}; the span carries the test ID and the requested and newly assigned
+     * candidate counts, with the auth-service lookups and outbox writes of every chunk beneath it.
+     */
+    public AssignmentResult assignCandidates(String testId, Stream<String> candidateIds, String bearerToken) {
+        Observation observation = Observation.createNotStarted("test.assign", observationRegistry)
+                .contextualName("assign candidates")
+                .highCardinalityKeyValue("test.id", testId);
+        return observation.observe(() -> {
+            AssignmentResult result = assign(testId, candidateIds, bearerToken);
+            observation.highCardinalityKeyValue("candidate.count", String.valueOf(result.getRequested()))
+                    .highCardinalityKeyValue("candidate.assigned", String.valueOf(result.getAssigned()));
+            return result;
         });
     }
 
-    public Test assignCandidates(String testId, List<String> candidateIds, String bearerToken) {
-        log.info("Assigning {} candidates to test: {}", candidateIds.size(), testId);
-
+    private AssignmentResult assign(String testId, Stream<String> candidateIds, String bearerToken) {
         Test test = testRepository.findById(testId)
                 .orElseThrow(() -> {
                     log.error("Test not found for candidate assignment: {}", testId);
                     return new TestNotFoundException(testId);
                 });
 
-        List<String> existingCandidates = test.getAssignedCandidates() == null
-                ? new ArrayList<>()
-                : new ArrayList<>(test.getAssignedCandidates());
-
-        existingCandidates.addAll(candidateIds);
-
-        // dedupe
-        test.setAssignedCandidates(new ArrayList<>(new LinkedHashSet<>(existingCandidates)));
-        testRepository.save(test);
+        long requested = 0;
+        long assigned = 0;
+        List<String> chunk = new ArrayList<>(assignmentChunkSize);
+
+        Iterator<String> it = candidateIds.iterator();
+        while (it.hasNext()) {
+            chunk.add(it.next());
+            if (chunk.size() == assignmentChunkSize || !it.hasNext()) {
+                requested += chunk.size();
+                assigned += assignmentRepository.assign(testId, chunk);
+                publishAssignedEvent(test, chunk, bearerToken);
+                chunk = new ArrayList<>(assignmentChunkSize);
+            }
+        }
 
         log.info("Candidates assigned successfully to test: {}", testId);
-        log.debug("Total candidates now assigned: {}", test.getAssignedCandidates().size());
+        log.debug("Newly assigned {} of {} requested candidates", assigned, requested);
 
-        // Fetch user details and send notifications
-        try {
-            Map<String, UserDTO> usersMap = authClient.fetchUsersMap(bearerToken);
-            List<TestAssignedEvent.CandidateInfo> candidateInfos = new ArrayList<>();
-
-            for (String candidateId : candidateIds) {
-                UserDTO user = usersMap.get(candidateId);
-                if (user != null) {
-                    TestAssignedEvent.CandidateInfo info = new TestAssignedEvent.CandidateInfo();
-                    info.setId(user.getId());
-                    info.setName(user.getName());
-                    info.setEmail(user.getEmail());
-                    candidateInfos.add(info);
-                }
-            }
+        return AssignmentResult.builder()
+                .testId(testId)
+                .requested(requested)
+                .assigned(assigned)
+                .build();
+    }
 
-            if (!candidateInfos.isEmpty()) {
-                TestAssignedEvent event = new TestAssignedEvent();
-                event.setTestId(test.getId());
-                event.setTestName(test.getName());
-                event.setStartTime(test.getStartAt());
-                event.setEndTime(test.getEndAt());
-                event.setDurationMinutes(test.getDurationMinutes());
-                event.setTestLink("http://localhost:3000/test/" + test.getId()); // For testing purpose
-                event.setCandidates(candidateInfos);
-
-                notificationPublisher.publishTestAssignedEvent(event);
-            }
+    private void publishAssignedEvent(Test test, List<String> candidateIds, String bearerToken) {
+        Map<String, UserDTO> usersMap;
+        try {
+            usersMap = userDirectoryService.getUsers(candidateIds, bearerToken);
         } catch (Exception e) {
             log.error("Failed to send assignment notifications", e);
+            return;
         }
 
-        return test;
-    }
-
-    private void cancelSchedules(String testId) {
-        log.debug("Cancelling schedules for test: {}", testId);
-
-        ScheduledFuture<?> startTask = startTasks.remove(testId);
-        if (startTask != null) {
-            startTask.cancel(false);
-            log.debug("Start task cancelled for test: {}", testId);
+        List<TestAssignedEvent.CandidateInfo> candidateInfos = new ArrayList<>();
+        for (String candidateId : candidateIds) {
+            UserDTO user = usersMap.get(candidateId);
+            if (user != null) {
+                TestAssignedEvent.CandidateInfo info = new TestAssignedEvent.CandidateInfo();
+                info.setId(user.getId());
+                info.setName(user.getName());
+                info.setEmail(user.getEmail());
+                candidateInfos.add(info);
+            }
         }
 
-        ScheduledFuture<?> endTask = endTasks.remove(testId);
-        if (endTask != null) {
-            endTask.cancel(false);
-            log.debug("End task cancelled for test: {}", testId);
+        if (!candidateInfos.isEmpty()) {
+            TestAssignedEvent event = new TestAssignedEvent();
+            event.setTestId(test.getId());
+            event.setTestName(test.getName());
+            event.setStartTime(test.getStartAt());
+            event.setEndTime(test.getEndAt());
+            event.setDurationMinutes(test.getDurationMinutes());
+            event.setTestLink("http://localhost:3000/test/" + test.getId()); // For testing purpose
+            event.setCandidates(candidateInfos);
+
+            // written to the outbox alongside the assignment; a failure here fails the request
+            notificationPublisher.publishTestAssignedEvent(event);
         }
     }
 
-    public List<Test> getTestsForCandidate(String candidateId) {
+    /**
+     * Pages through a candidate's tests in test ID order, starting after {@code afterTestId}.
+     */
+    public CursorPage<Test> getTestsForCandidate(String candidateId, String afterTestId, int limit) {
         log.info("Fetching tests for candidate: {}", candidateId);
-        List<Test> tests = testRepository.findByAssignedCandidatesContains(candidateId);
+
+        Limit pageLimit = Pagination.limit(limit, maxPageSize);
+        List<TestAssignment> assignments = afterTestId == null
+                ? assignmentRepository.findByCandidateIdOrderByTestIdAsc(candidateId, pageLimit)
+                : assignmentRepository.findByCandidateIdAndTestIdGreaterThanOrderByTestIdAsc(candidateId, afterTestId, pageLimit);
+
+        List<String> testIds = assignments.stream().map(TestAssignment::getTestId).toList();
+        Map<String, Test> testsById = testRepository.findAllById(testIds).stream()
+                .collect(Collectors.toMap(Test::getId, Function.identity()));
+        List<Test> tests = testIds.stream().map(testsById::get).filter(Objects::nonNull).toList();
+
         log.debug("Found {} tests for candidate: {}", tests.size(), candidateId);
-        return tests;
+        // the cursor follows the assignments, so a test deleted in the meantime does not end the listing early
+        return CursorPage.<Test>builder()
+                .items(tests)
+                .nextCursor(CursorPage.of(testIds, pageLimit.max(), Function.identity()).getNextCursor())
+                .build();
+    }
+
+    /**
+     * Pages through the candidates assigned to a test in candidate ID order, starting after {@code afterCandidateId}.
+     */
+    public CursorPage<String> getAssignedCandidates(String testId, String afterCandidateId, int limit) {
+        log.info("Fetching assigned candidates for test: {}", testId);
+
+        if (!testRepository.existsById(testId)) {
+            log.error("Test not found for candidate listing: {}", testId);
+            throw new TestNotFoundException(testId);
+        }
+
+        Limit pageLimit = Pagination.limit(limit, maxPageSize);
+        List<String> candidateIds = (afterCandidateId == null
+                ? assignmentRepository.findByTestIdOrderByCandidateIdAsc(testId, pageLimit)
+                : assignmentRepository.findByTestIdAndCandidateIdGreaterThanOrderByCandidateIdAsc(testId, afterCandidateId, pageLimit))
+                .stream()
+                .map(TestAssignment::getCandidateId)
+                .toList();
+
+        log.debug("Found {} assigned candidates for test: {}", candidateIds.size(), testId);
+        return CursorPage.of(candidateIds, pageLimit.max(), Function.identity());
     }
 }
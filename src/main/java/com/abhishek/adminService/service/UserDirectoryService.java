@@ -0,0 +1,96 @@
+package com.abhishek.adminService.service;
+
+import com.abhishek.adminService.client.AuthClient;
+import com.abhishek.adminService.dto.UserDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * In-process cache of auth-service users in front of {@link AuthClient}.
+ * <p>
+ * Entries expire after {@code user-cache.ttl}; misses are always loaded with the calling request's
+ * own token, never another caller's. IDs auth-service does not know are cached as absent for the
+ * shorter {@code user-cache.negative-ttl}. Hit, miss and
+ * eviction counts are published as the {@code cache.*} metrics tagged {@code cache=users}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserDirectoryService {
+
+    private final AuthClient authClient;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${user-cache.max-size:100000}")
+    private long maxSize;
+
+    @Value("${user-cache.ttl:PT30M}")
+    private Duration ttl;
+
+    @Value("${user-cache.negative-ttl:PT1M}")
+    private Duration negativeTtl;
+
+    private Cache<String, Optional<UserDTO>> users;
+
+    @PostConstruct
+    void buildCache() {
+        users = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(Expiry.<String, Optional<UserDTO>>writing((id, user) -> user.isPresent() ? ttl : negativeTtl))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, users, "users");
+    }
+
+    /**
+     * Resolves the given users, loading all misses from auth-service in one batched lookup.
+     * If auth-service is unreachable only the users already cached are returned.
+     */
+    public Map<String, UserDTO> getUsers(Collection<String> userIds, String bearerToken) {
+        Map<String, Optional<UserDTO>> cached = new HashMap<>(users.getAllPresent(userIds));
+        List<String> misses = userIds.stream().filter(id -> !cached.containsKey(id)).distinct().toList();
+
+        if (!misses.isEmpty()) {
+            try {
+                Map<String, UserDTO> found = authClient.fetchUsersByIds(misses, bearerToken);
+                Map<String, Optional<UserDTO>> loaded = new HashMap<>();
+                for (String userId : misses) {
+                    loaded.put(userId, Optional.ofNullable(found.get(userId)));
+                }
+                users.putAll(loaded);
+                cached.putAll(loaded);
+            } catch (Exception e) {
+                log.error("Failed to load {} users from auth-service", misses.size(), e);
+            }
+        }
+
+        Map<String, UserDTO> resolved = new HashMap<>();
+        cached.forEach((id, user) -> user.ifPresent(value -> resolved.put(id, value)));
+        return resolved;
+    }
+
+    public void invalidate(Collection<String> userIds) {
+        log.debug("Invalidating {} cached users", userIds.size());
+        users.invalidateAll(userIds);
+    }
+
+    public void invalidateAll() {
+        log.debug("Invalidating all cached users");
+        users.invalidateAll();
+    }
+}
@@ -0,0 +1,86 @@
+package com.abhishek.adminService.service.migration;
+
+import com.abhishek.adminService.model.Test;
+import com.abhishek.adminService.repository.TestAssignmentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Moves candidate assignments still embedded in {@code tests.assignedCandidates} into the
+ * {@code test_assignments} collection, then removes the embedded array.
+ * <p>
+ * Each test is copied before its array is unset and the copy skips existing assignments, so the
+ * migration is safe to re-run and to run on several replicas at once.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CandidateAssignmentMigration {
+
+    private static final String EMBEDDED_FIELD = "assignedCandidates";
+
+    private final MongoTemplate mongoTemplate;
+    private final TestAssignmentRepository assignmentRepository;
+
+    @Value("${assignment.migrate-embedded:true}")
+    private boolean enabled;
+
+    @Value("${assignment.chunk-size:1000}")
+    private int chunkSize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateInBackground() {
+        if (!enabled) {
+            return;
+        }
+        Thread thread = new Thread(this::migrate, "assignment-migration");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    void migrate() {
+        String collection = mongoTemplate.getCollectionName(Test.class);
+        Query pending = new Query(Criteria.where(EMBEDDED_FIELD).exists(true));
+        pending.fields().include("_id", EMBEDDED_FIELD);
+
+        try (Stream<Document> tests = mongoTemplate.stream(pending, Document.class, collection)) {
+            long migratedTests = 0;
+            for (Iterator<Document> it = tests.iterator(); it.hasNext(); migratedTests++) {
+                migrate(it.next(), collection);
+            }
+            if (migratedTests > 0) {
+                log.info("Migrated embedded candidate assignments of {} tests", migratedTests);
+            }
+        } catch (Exception e) {
+            log.error("Failed to migrate embedded candidate assignments", e);
+        }
+    }
+
+    private void migrate(Document test, String collection) {
+        String testId = test.get("_id").toString();
+        List<String> candidates = test.getList(EMBEDDED_FIELD, String.class, List.of());
+
+        long inserted = 0;
+        for (int from = 0; from < candidates.size(); from += chunkSize) {
+            inserted += assignmentRepository.assign(testId,
+                    candidates.subList(from, Math.min(from + chunkSize, candidates.size())));
+        }
+
+        mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(test.get("_id"))),
+                new Update().unset(EMBEDDED_FIELD), collection);
+        log.debug("Migrated {} candidate assignments of test: {}", inserted, testId);
+    }
+}
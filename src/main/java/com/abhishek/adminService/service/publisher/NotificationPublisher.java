@@ -1,39 +1,91 @@
 package com.abhishek.adminService.service.publisher;
 
+import com.abhishek.adminService.config.JmsConfig;
 import com.abhishek.adminService.dto.event.TestAssignedEvent;
 import com.abhishek.adminService.dto.event.TestScheduledEvent;
+import com.abhishek.adminService.model.OutboxEvent;
+import com.abhishek.adminService.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.transport.SenderContext;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.jms.core.JmsTemplate;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Publishes notification events through the {@code outbox} collection.
+ * <p>
+ * Callers write the event right after the test update it belongs to, so the request only depends on
+ * Mongo; {@link OutboxRelay} delivers it to Artemis, retrying for as long as the broker is unavailable.
+ * A failed outbox write is propagated rather than logged, because the event would otherwise be lost.
+ * <p>
+ * Each write is observed as {@code notifications.outbox.append}: a timer by destination and a producer
+ * span tagged with the test and candidate count, whose context is stored with the event for the relay
+ * to continue. Delivery to the broker is measured by the relay.
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class NotificationPublisher {
 
-    private final JmsTemplate jmsTemplate;
+    private final OutboxEventRepository outboxRepository;
+    private final OutboxRelay outboxRelay;
+    private final ObservationRegistry observationRegistry;
 
     private static final String QUEUE_TEST_ASSIGNED = "test.assigned";
     private static final String QUEUE_TEST_SCHEDULED = "test.scheduled";
 
+    private final ObjectMapper objectMapper = JmsConfig.eventObjectMapper();
+
     public void publishTestAssignedEvent(TestAssignedEvent event) {
-        try {
-            log.info("Publishing TEST_ASSIGNED event for test: {}", event.getTestName());
-            jmsTemplate.convertAndSend(QUEUE_TEST_ASSIGNED, event);
-            log.debug("Event published successfully: {}", event);
-        } catch (Exception e) {
-            log.error("Failed to publish TEST_ASSIGNED event", e);
-        }
+        log.info("Publishing TEST_ASSIGNED event for test: {}", event.getTestName());
+        append(event.getTestId(), QUEUE_TEST_ASSIGNED, event, size(event.getCandidates()));
     }
 
     public void publishTestScheduledEvent(TestScheduledEvent event) {
+        log.info("Publishing TEST_SCHEDULED event for test: {}", event.getTestName());
+        append(event.getTestId(), QUEUE_TEST_SCHEDULED, event, size(event.getCandidateEmails()));
+    }
+
+    private void append(String testId, String destination, Object event, int candidates) {
+        OutboxEvent outboxEvent = new OutboxEvent();
+        outboxEvent.setTestId(testId);
+        outboxEvent.setDestination(destination);
+        outboxEvent.setType(event.getClass().getName());
         try {
-            log.info("Publishing TEST_SCHEDULED event for test: {}", event.getTestName());
-            jmsTemplate.convertAndSend(QUEUE_TEST_SCHEDULED, event);
-            log.debug("Event published successfully: {}", event);
-        } catch (Exception e) {
-            log.error("Failed to publish TEST_SCHEDULED event", e);
+            outboxEvent.setPayload(objectMapper.writeValueAsString(event));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize " + event.getClass().getSimpleName(), e);
         }
+        outboxEvent.setCreatedAt(Instant.now());
+
+        Map<String, String> traceContext = new HashMap<>();
+        SenderContext<Map<String, String>> context = new SenderContext<>(Map::put);
+        context.setCarrier(traceContext);
+        context.setRemoteServiceName("outbox");
+        Observation.createNotStarted("notifications.outbox.append", () -> context, observationRegistry)
+                .contextualName("outbox append " + destination)
+                .lowCardinalityKeyValue("destination", destination)
+                .highCardinalityKeyValue("test.id", String.valueOf(testId))
+                .highCardinalityKeyValue("candidate.count", String.valueOf(candidates))
+                .observe(() -> {
+                    // filled in when the observation started, unless tracing is off
+                    outboxEvent.setTraceContext(traceContext.isEmpty() ? null : traceContext);
+                    outboxEvent.setSequence(outboxRepository.nextSequence());
+                    outboxRepository.insert(outboxEvent);
+                });
+        log.debug("Event written to the outbox: {}", outboxEvent.getId());
+        outboxRelay.wakeUp();
+    }
+
+    private static int size(List<?> list) {
+        return list != null ? list.size() : 0;
     }
 }
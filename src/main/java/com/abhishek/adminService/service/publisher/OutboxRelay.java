@@ -0,0 +1,351 @@
+package com.abhishek.adminService.service.publisher;
+
+import com.abhishek.adminService.config.JmsConfig;
+import com.abhishek.adminService.model.OutboxEvent;
+import com.abhishek.adminService.repository.OutboxEventRepository;
+import com.abhishek.adminService.repository.RelayLockRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.transport.ReceiverContext;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
+import jakarta.jms.MessageProducer;
+import jakarta.jms.Session;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.activemq.artemis.api.core.ActiveMQDuplicateIdException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.jms.core.JmsTemplate;
+import org.springframework.jms.support.JmsUtils;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the {@code outbox} collection to Artemis.
+ * <p>
+ * One node at a time holds the {@code outbox} relay lock and sends the oldest
+ * {@code notifications.batch-size} events in one transacted session, then deletes them. Sending in
+ * {@code sequence} order from a single node keeps each test's events in order. A sequence number can be
+ * allocated before its event is visible, so the relay stops at a gap in the sequence and waits up to
+ * {@code notifications.gap-timeout} for the missing event before giving it up as never written. Delivery is at-least-once: a
+ * crash between the commit and the delete sends the batch again, and the outbox ID travels as Artemis'
+ * duplicate-detection key so the broker drops the repeats. While the broker is down events stay in the
+ * outbox and the relay retries every {@code notifications.retry-backoff}.
+ * <p>
+ * Publishing on the lock holder wakes the relay immediately; events written on other nodes are picked
+ * up within {@code notifications.poll-interval}.
+ * <p>
+ * Each event is relayed under a {@code notifications.relay} observation that continues the trace stored
+ * with the event, and the JMS send inside it injects that trace into the message headers for the
+ * notification service.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OutboxRelay {
+
+    private static final String LOCK_NAME = "outbox";
+    // Artemis' duplicate-detection header (Message.HDR_DUPLICATE_DETECTION_ID)
+    private static final String DUPLICATE_ID_PROPERTY = "_AMQ_DUPL_ID";
+
+    private final OutboxEventRepository outboxRepository;
+    private final RelayLockRepository lockRepository;
+    private final JmsTemplate jmsTemplate;
+    private final MeterRegistry meterRegistry;
+    private final ObservationRegistry observationRegistry;
+
+    private final String nodeId = resolveNodeId();
+    private final Semaphore wakeUp = new Semaphore(0);
+    private final AtomicLong pending = new AtomicLong();
+
+    @Value("${notifications.batch-size:100}")
+    private int batchSize;
+
+    @Value("${notifications.poll-interval:PT1S}")
+    private Duration pollInterval;
+
+    @Value("${notifications.retry-backoff:PT5S}")
+    private Duration retryBackoff;
+
+    @Value("${notifications.lease:PT30S}")
+    private Duration lease;
+
+    @Value("${notifications.gap-timeout:PT5S}")
+    private Duration gapTimeout;
+
+    @Value("${notifications.shutdown-timeout:PT5S}")
+    private Duration shutdownTimeout;
+
+    @Value("${notifications.lock-release-timeout:PT1S}")
+    private Duration lockReleaseTimeout;
+
+    private JmsTemplate batchTemplate;
+    private Thread relayThread;
+    private volatile boolean running;
+    private volatile boolean leader;
+    // sequence of the last event this node relayed as leader, 0 when not known
+    private long lastSequence;
+
+    private Timer publishLatency;
+    private Counter failures;
+
+    @PostConstruct
+    void init() {
+        batchTemplate = new JmsTemplate(jmsTemplate.getConnectionFactory());
+        batchTemplate.setSessionTransacted(true);
+        batchTemplate.setObservationRegistry(observationRegistry);
+
+        Gauge.builder("notifications.outbox.pending", pending, AtomicLong::get)
+                .description("Events in the outbox as last seen by the relay")
+                .register(meterRegistry);
+        publishLatency = Timer.builder("notifications.publish.latency")
+                .description("Time from an event being written to the outbox to the broker accepting it")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        failures = Counter.builder("notifications.publish.failed")
+                .description("Relay attempts the broker did not accept; the events stay in the outbox")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        running = true;
+        relayThread = new Thread(this::relay, "outbox-relay");
+        relayThread.setDaemon(true);
+        relayThread.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (relayThread == null) {
+            return;
+        }
+        running = false;
+        // also breaks out of a Mongo call stuck in server selection
+        relayThread.interrupt();
+        relayThread.join(shutdownTimeout.toMillis());
+        if (!leader) {
+            return;
+        }
+        // best effort: with Mongo unreachable the lease simply runs out
+        try {
+            CompletableFuture.runAsync(() -> lockRepository.deleteByNameAndOwner(LOCK_NAME, nodeId))
+                    .get(lockReleaseTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            log.debug("Could not release the outbox relay lock, it expires in {}", lease, e);
+        }
+    }
+
+    /**
+     * Asks the relay to look at the outbox now rather than at its next poll.
+     */
+    public void wakeUp() {
+        wakeUp.release();
+    }
+
+    private void relay() {
+        while (running) {
+            try {
+                leader = lockRepository.tryAcquire(LOCK_NAME, nodeId, lease);
+                if (!leader) {
+                    pending.set(0);
+                    lastSequence = 0;
+                    Thread.sleep(pollInterval.toMillis());
+                    continue;
+                }
+
+                List<OutboxEvent> oldest = outboxRepository.findAllByOrderBySequenceAsc(Limit.of(batchSize));
+                pending.set(oldest.size() < batchSize ? oldest.size() : outboxRepository.count());
+                List<OutboxEvent> batch = oldest.subList(0, readyPrefix(oldest, lastSequence, Instant.now()));
+                if (batch.isEmpty()) {
+                    await(pollInterval);
+                    continue;
+                }
+
+                int sent = send(batch);
+                if (sent > 0) {
+                    outboxRepository.deleteAllById(batch.subList(0, sent).stream().map(OutboxEvent::getId).toList());
+                    recordSent(batch.subList(0, sent));
+                    lastSequence = batch.get(sent - 1).getSequence();
+                }
+                if (sent < batch.size()) {
+                    await(retryBackoff);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                if (!running) {
+                    return;
+                }
+                log.error("Failed to relay notification events from the outbox", e);
+                try {
+                    await(retryBackoff);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * How many leading events of {@code batch} can be relayed without skipping over a sequence number
+     * whose event may still be about to appear. A gap is only waited for while the event after it is
+     * younger than {@code notifications.gap-timeout}; after that the allocation is taken to be lost.
+     */
+    int readyPrefix(List<OutboxEvent> batch, long lastSequence, Instant now) {
+        Instant settled = now.minus(gapTimeout);
+        long previous = lastSequence;
+        for (int i = 0; i < batch.size(); i++) {
+            OutboxEvent event = batch.get(i);
+            if (previous > 0 && event.getSequence() > previous + 1 && event.getCreatedAt().isAfter(settled)) {
+                return i;
+            }
+            previous = event.getSequence();
+        }
+        return batch.size();
+    }
+
+    /**
+     * Sends the events in order, all in one transaction, or one by one when the transaction fails.
+     *
+     * @return how many leading events of {@code batch} the broker accepted
+     */
+    int send(List<OutboxEvent> batch) {
+        List<Observation> relayed = new ArrayList<>(batch.size());
+        try {
+            batchTemplate.execute(session -> {
+                Map<String, MessageProducer> producers = new HashMap<>();
+                try {
+                    for (OutboxEvent event : batch) {
+                        MessageProducer producer = producers.computeIfAbsent(event.getDestination(),
+                                name -> createProducer(session, name));
+                        Observation observation = relayObservation(event).start();
+                        relayed.add(observation);
+                        try (Observation.Scope ignored = observation.openScope()) {
+                            producer.send(toMessage(session, event));
+                        }
+                    }
+                    session.commit();
+                } finally {
+                    for (MessageProducer producer : producers.values()) {
+                        producer.close();
+                    }
+                }
+                return null;
+            }, true);
+            relayed.forEach(Observation::stop);
+            log.debug("Relayed {} notification events", batch.size());
+            return batch.size();
+        } catch (Exception e) {
+            relayed.forEach(observation -> observation.error(e).stop());
+            // the whole transaction is rolled back, e.g. when it contained a redelivered duplicate
+            log.warn("Failed to relay a batch of {} notification events, retrying individually", batch.size(), e);
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            OutboxEvent event = batch.get(i);
+            Observation observation = relayObservation(event).start();
+            try (Observation.Scope ignored = observation.openScope()) {
+                jmsTemplate.send(event.getDestination(), session -> toMessage(session, event));
+            } catch (Exception e) {
+                if (isDuplicate(e)) {
+                    log.debug("Event {} was already delivered", event.getId());
+                    continue;
+                }
+                // stop here so later events of the same test are not delivered ahead of this one
+                observation.error(e);
+                failures.increment();
+                log.error("Failed to relay event {} to {}", event.getId(), event.getDestination(), e);
+                return i;
+            } finally {
+                observation.stop();
+            }
+        }
+        return batch.size();
+    }
+
+    /**
+     * The relay of one event, as the consumer side of the hop through the outbox: its parent is the span
+     * that wrote the event, or none for events written without a trace.
+     */
+    private Observation relayObservation(OutboxEvent event) {
+        ReceiverContext<Map<String, String>> context = new ReceiverContext<>(Map::get);
+        context.setCarrier(event.getTraceContext() != null ? event.getTraceContext() : Map.of());
+        context.setRemoteServiceName("outbox");
+        return Observation.createNotStarted("notifications.relay", () -> context, observationRegistry)
+                .contextualName("outbox relay " + event.getDestination())
+                .lowCardinalityKeyValue("destination", event.getDestination())
+                .highCardinalityKeyValue("test.id", String.valueOf(event.getTestId()))
+                .highCardinalityKeyValue("outbox.id", String.valueOf(event.getId()));
+    }
+
+    private static boolean isDuplicate(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ActiveMQDuplicateIdException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void await(Duration timeout) throws InterruptedException {
+        if (wakeUp.tryAcquire(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+            wakeUp.drainPermits();
+        }
+    }
+
+    private void recordSent(List<OutboxEvent> sent) {
+        Instant now = Instant.now();
+        for (OutboxEvent event : sent) {
+            publishLatency.record(Duration.between(event.getCreatedAt(), now));
+        }
+    }
+
+    private static Message toMessage(Session session, OutboxEvent event) throws JMSException {
+        Message message = session.createTextMessage(event.getPayload());
+        message.setStringProperty(JmsConfig.TYPE_ID_PROPERTY, event.getType());
+        message.setStringProperty(DUPLICATE_ID_PROPERTY, event.getId());
+        return message;
+    }
+
+    private static MessageProducer createProducer(Session session, String queueName) {
+        try {
+            return session.createProducer(session.createQueue(queueName));
+        } catch (JMSException e) {
+            throw JmsUtils.convertJmsAccessException(e);
+        }
+    }
+
+    private static String resolveNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "unknown";
+        }
+        return host + "-" + UUID.randomUUID();
+    }
+}
@@ -0,0 +1,176 @@
+package com.abhishek.adminService.service.scheduler;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timing wheel in the style of Varghese &amp; Lauck.
+ * <p>
+ * Time is divided into ticks of {@code tickDuration}; a deadline hashes to the slot
+ * {@code tick % wheelSize} and carries the number of full revolutions still to wait, so deadlines
+ * further away than one revolution overflow into later rounds instead of a second wheel.
+ * A single worker thread advances the wheel and hands everything that expired within the same
+ * tick to the consumer as one batch, which lets callers coalesce work per tick.
+ */
+@Slf4j
+public class HashedTimingWheel<T> {
+
+    private final long tickNanos;
+    private final int mask;
+    private final List<LinkedList<Timeout<T>>> wheel;
+    private final Queue<Timeout<T>> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final Consumer<List<Timeout<T>>> expiredBatchConsumer;
+    private final Thread worker;
+
+    private volatile long startNanos;
+    private volatile boolean running = true;
+    private long tick;
+
+    public HashedTimingWheel(String name, Duration tickDuration, int wheelSize,
+                             Consumer<List<Timeout<T>>> expiredBatchConsumer) {
+        this(runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        }, tickDuration, wheelSize, expiredBatchConsumer);
+    }
+
+    /**
+     * Runs the worker on a thread from {@code threadFactory}, e.g. a virtual one.
+     */
+    public HashedTimingWheel(ThreadFactory threadFactory, Duration tickDuration, int wheelSize,
+                             Consumer<List<Timeout<T>>> expiredBatchConsumer) {
+        if (Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("wheelSize must be a power of two: " + wheelSize);
+        }
+        this.tickNanos = tickDuration.toNanos();
+        this.mask = wheelSize - 1;
+        this.wheel = new ArrayList<>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) {
+            wheel.add(new LinkedList<>());
+        }
+        this.expiredBatchConsumer = expiredBatchConsumer;
+        this.worker = threadFactory.newThread(this::run);
+    }
+
+    public void start() {
+        startNanos = System.nanoTime();
+        worker.start();
+    }
+
+    public void stop() {
+        running = false;
+        worker.interrupt();
+    }
+
+    public Timeout<T> add(T task, Instant deadline) {
+        Timeout<T> timeout = new Timeout<>(task, deadline);
+        size.incrementAndGet();
+        pending.add(timeout);
+        return timeout;
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    private void run() {
+        while (running) {
+            long deadline = tickNanos * (tick + 1);
+            long sleepNanos = deadline - (System.nanoTime() - startNanos);
+            if (sleepNanos > 0) {
+                try {
+                    Thread.sleep(sleepNanos / 1_000_000, (int) (sleepNanos % 1_000_000));
+                } catch (InterruptedException e) {
+                    if (!running) {
+                        return;
+                    }
+                    continue;
+                }
+            }
+
+            transferPending();
+            List<Timeout<T>> expired = expire(wheel.get((int) (tick & mask)));
+            tick++;
+
+            if (!expired.isEmpty()) {
+                try {
+                    expiredBatchConsumer.accept(expired);
+                } catch (Exception e) {
+                    log.error("Timing wheel consumer failed for {} expired entries", expired.size(), e);
+                }
+            }
+        }
+    }
+
+    private void transferPending() {
+        Timeout<T> timeout;
+        while ((timeout = pending.poll()) != null) {
+            if (timeout.cancelled) {
+                size.decrementAndGet();
+                continue;
+            }
+            long elapsedNanos = Duration.between(Instant.now(), timeout.deadline).toNanos()
+                    + (System.nanoTime() - startNanos);
+            // never place a deadline in a slot the wheel has already passed
+            long targetTick = Math.max(elapsedNanos / tickNanos, tick);
+            timeout.remainingRounds = (targetTick - tick) / wheel.size();
+            wheel.get((int) (targetTick & mask)).add(timeout);
+        }
+    }
+
+    private List<Timeout<T>> expire(LinkedList<Timeout<T>> slot) {
+        List<Timeout<T>> expired = new ArrayList<>();
+        Iterator<Timeout<T>> it = slot.iterator();
+        while (it.hasNext()) {
+            Timeout<T> timeout = it.next();
+            if (timeout.cancelled) {
+                it.remove();
+                size.decrementAndGet();
+            } else if (timeout.remainingRounds <= 0) {
+                it.remove();
+                size.decrementAndGet();
+                expired.add(timeout);
+            } else {
+                timeout.remainingRounds--;
+            }
+        }
+        return expired;
+    }
+
+    public static final class Timeout<T> {
+        private final T task;
+        private final Instant deadline;
+        private volatile boolean cancelled;
+        private long remainingRounds;
+
+        private Timeout(T task, Instant deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        public T task() {
+            return task;
+        }
+
+        public Instant deadline() {
+            return deadline;
+        }
+
+        public void cancel() {
+            cancelled = true;
+        }
+    }
+}
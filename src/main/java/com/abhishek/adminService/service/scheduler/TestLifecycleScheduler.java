@@ -0,0 +1,252 @@
+package com.abhishek.adminService.service.scheduler;
+
+import com.abhishek.adminService.model.ScheduledTransition;
+import com.abhishek.adminService.repository.ScheduledTransitionRepository;
+import com.abhishek.adminService.repository.TestRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.stream.Collectors;
+
+/**
+ * Mongo-backed scheduler for test start/end transitions.
+ * <p>
+ * Transitions are stored in the {@code test_schedules} collection. Every node polls it on a fixed
+ * interval and leases the entries that fall due within the look-ahead window, then hands them to an
+ * in-memory {@link HashedTimingWheel} for precise firing. Everything that expires in the same wheel
+ * tick is applied as one bulk update per transition type, so thousands of tests starting at the same
+ * minute cost a handful of writes. Because the schedule survives restarts, the first poll after
+ * startup also catches up on any window that was missed while no node was running.
+ * <p>
+ * Fired transitions are counted in {@code test.schedule.transitions} by type and outcome:
+ * {@code applied}, {@code lease_lost} (cancelled or taken over by another node) or {@code failed}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TestLifecycleScheduler {
+
+    private final ScheduledTransitionRepository transitionRepository;
+    private final TestRepository testRepository;
+    private final MeterRegistry meterRegistry;
+    private final Environment environment;
+
+    private final String nodeId = resolveNodeId();
+    private final Map<String, HashedTimingWheel.Timeout<ScheduledTransition>> inFlight = new ConcurrentHashMap<>();
+    // batches are applied in tick order, off the wheel thread so slow writes do not delay later ticks
+    private ExecutorService dispatcher;
+    private HashedTimingWheel<ScheduledTransition> wheel;
+
+    @Value("${scheduler.lease:PT1M}")
+    private Duration lease;
+
+    @Value("${scheduler.lookahead:PT5S}")
+    private Duration lookahead;
+
+    @Value("${scheduler.batch-size:500}")
+    private int batchSize;
+
+    @Value("${scheduler.tick:PT0.1S}")
+    private Duration tick;
+
+    @Value("${scheduler.wheel-size:512}")
+    private int wheelSize;
+
+    @PostConstruct
+    void startWheel() {
+        if (lease.compareTo(lookahead.multipliedBy(2)) < 0) {
+            throw new IllegalStateException("scheduler.lease must be at least twice scheduler.lookahead");
+        }
+        dispatcher = Executors.newSingleThreadExecutor(threadFactory("test-transition-dispatcher"));
+        wheel = new HashedTimingWheel<>(threadFactory("test-transition-wheel"), tick, wheelSize,
+                expired -> dispatcher.execute(() -> fire(expired)));
+        wheel.start();
+        Gauge.builder("test.schedule.wheel.pending", wheel, HashedTimingWheel::size)
+                .description("Transitions leased by this node and waiting in the timing wheel")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void stopWheel() {
+        wheel.stop();
+        dispatcher.shutdown();
+    }
+
+    /**
+     * Virtual threads when {@code spring.threads.virtual.enabled} is on (and the runtime supports them),
+     * daemon platform threads otherwise.
+     */
+    private ThreadFactory threadFactory(String name) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            return new VirtualThreadTaskExecutor(name + "-").getVirtualThreadFactory();
+        }
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    public void schedule(String testId, ScheduledTransition.Type type, Instant fireAt) {
+        String id = ScheduledTransition.idOf(testId, type);
+        cancelLocal(id);
+
+        ScheduledTransition transition = new ScheduledTransition();
+        transition.setId(id);
+        transition.setTestId(testId);
+        transition.setType(type);
+        transition.setFireAt(fireAt);
+        transitionRepository.save(transition);
+        log.debug("Persisted {} transition for test: {} at {}", type, testId, fireAt);
+    }
+
+    /**
+     * Applies a transition immediately instead of scheduling it.
+     *
+     * @return whether the test's active flag changed
+     */
+    public boolean fireNow(String testId, ScheduledTransition.Type type) {
+        boolean changed;
+        if (type == ScheduledTransition.Type.START) {
+            log.info("Starting test: {}", testId);
+            changed = testRepository.activate(testId);
+        } else {
+            log.info("Ending test: {}", testId);
+            changed = testRepository.deactivate(testId);
+        }
+        transitions(type, "applied").increment();
+        return changed;
+    }
+
+    public void cancel(String testId) {
+        log.debug("Cancelling schedules for test: {}", testId);
+        for (ScheduledTransition.Type type : ScheduledTransition.Type.values()) {
+            cancelLocal(ScheduledTransition.idOf(testId, type));
+        }
+        transitionRepository.deleteByTestId(testId);
+    }
+
+    @Scheduled(fixedDelayString = "${scheduler.poll-interval-ms:1000}")
+    public void poll() {
+        try {
+            List<ScheduledTransition> claimed;
+            do {
+                claimed = transitionRepository.claimDue(Instant.now().plus(lookahead), nodeId, lease, batchSize);
+                for (ScheduledTransition transition : claimed) {
+                    inFlight.put(transition.getId(), wheel.add(transition, transition.getFireAt()));
+                }
+                if (!claimed.isEmpty()) {
+                    log.debug("Leased {} test transitions into the timing wheel", claimed.size());
+                }
+            } while (claimed.size() == batchSize);
+        } catch (Exception e) {
+            log.error("Failed to poll scheduled test transitions", e);
+        }
+    }
+
+    private void fire(List<HashedTimingWheel.Timeout<ScheduledTransition>> expired) {
+        List<ScheduledTransition> due = new ArrayList<>(expired.size());
+        for (HashedTimingWheel.Timeout<ScheduledTransition> timeout : expired) {
+            inFlight.remove(timeout.task().getId(), timeout);
+            due.add(timeout.task());
+        }
+
+        try {
+            // entries cancelled or rescheduled by another node since we leased them are no longer ours
+            Map<String, String> leaseTokens = transitionRepository.findLeaseTokens(
+                    due.stream().map(ScheduledTransition::getId).toList(), nodeId);
+
+            List<ScheduledTransition> owned = new ArrayList<>(due.size());
+            List<String> starts = new ArrayList<>();
+            List<String> ends = new ArrayList<>();
+            List<ScheduledTransition> lost = new ArrayList<>();
+            for (ScheduledTransition transition : due) {
+                if (transition.getClaimToken().equals(leaseTokens.get(transition.getId()))) {
+                    owned.add(transition);
+                    (transition.getType() == ScheduledTransition.Type.START ? starts : ends).add(transition.getTestId());
+                } else {
+                    lost.add(transition);
+                }
+            }
+
+            // ends after starts, so a test whose whole window fell into one tick ends up inactive
+            long activated = testRepository.activateAll(starts);
+            long deactivated = testRepository.deactivateAll(ends);
+            transitionRepository.complete(owned.stream()
+                    .collect(Collectors.toMap(ScheduledTransition::getId, ScheduledTransition::getClaimToken)));
+
+            Instant firedAt = Instant.now();
+            for (ScheduledTransition transition : owned) {
+                lagTimer(transition.getType()).record(Duration.between(transition.getFireAt(), firedAt));
+            }
+            transitions(ScheduledTransition.Type.START, "applied").increment(starts.size());
+            transitions(ScheduledTransition.Type.END, "applied").increment(ends.size());
+            for (ScheduledTransition transition : lost) {
+                transitions(transition.getType(), "lease_lost").increment();
+            }
+            log.info("Fired test transitions: {} activated, {} deactivated", activated, deactivated);
+        } catch (Exception e) {
+            // left leased; another poll retries them once the lease expires
+            log.error("Failed to apply {} test transitions", due.size(), e);
+            for (ScheduledTransition transition : due) {
+                transitions(transition.getType(), "failed").increment();
+            }
+        }
+    }
+
+    private void cancelLocal(String transitionId) {
+        HashedTimingWheel.Timeout<ScheduledTransition> timeout = inFlight.remove(transitionId);
+        if (timeout != null) {
+            timeout.cancel();
+        }
+    }
+
+    private Timer lagTimer(ScheduledTransition.Type type) {
+        return Timer.builder("test.schedule.lag")
+                .description("Time between a transition's due time and when it was applied")
+                .tag("type", type.name())
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private Counter transitions(ScheduledTransition.Type type, String outcome) {
+        return Counter.builder("test.schedule.transitions")
+                .description("Test start/end transitions fired, by outcome")
+                .tag("type", type.name())
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static String resolveNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "unknown";
+        }
+        return host + "-" + UUID.randomUUID();
+    }
+}
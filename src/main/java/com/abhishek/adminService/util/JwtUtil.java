@@ -1,6 +1,7 @@
 package com.abhishek.adminService.util;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
@@ -9,16 +10,15 @@ import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
-import java.util.Date;
-import java.util.Set;
 
 @Component
 public class JwtUtil {
-    private final SecretKey key;
+    // immutable and thread-safe, so one parser serves every request
+    private final JwtParser parser;
     private final long expirationMs = 3600000; // can be externalized
 
     public JwtUtil(@Value("${jwt.secret}") String secret) {
-        this.key = resolveKey(secret);
+        this.parser = Jwts.parser().verifyWith(resolveKey(secret)).build();
     }
 
 
@@ -31,6 +31,6 @@ public class JwtUtil {
     }
 
     public Claims parseClaims(String token) {
-        return (Claims) Jwts.parser().verifyWith(key).build().parse(token).getPayload();
+        return parser.parseSignedClaims(token).getPayload();
     }
-}
\ No newline at end of file
+}
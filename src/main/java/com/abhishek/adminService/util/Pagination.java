@@ -0,0 +1,31 @@
+package com.abhishek.adminService.util;
+
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Limit;
+
+/**
+ * Helpers shared by the keyset-paginated listings.
+ */
+public final class Pagination {
+
+    private Pagination() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Clamps a client-requested page size to {@code [1, maxPageSize]}.
+     */
+    public static Limit limit(int requested, int maxPageSize) {
+        return Limit.of(Math.max(1, Math.min(requested, maxPageSize)));
+    }
+
+    /**
+     * Parses an {@code _id} cursor as returned in {@code nextCursor}.
+     */
+    public static ObjectId objectIdCursor(String cursor) {
+        if (!ObjectId.isValid(cursor)) {
+            throw new IllegalArgumentException("Invalid page cursor: " + cursor);
+        }
+        return new ObjectId(cursor);
+    }
+}
@@ -0,0 +1,186 @@
+package com.abhishek.adminService.benchmark;
+
+import com.abhishek.adminService.AdminServiceApplication;
+import com.sun.net.httpserver.HttpServer;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Encoders;
+import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Compares the platform thread pool with virtual threads when results-service is slow.
+ * <p>
+ * A local stub answers every results-service call after {@link #UPSTREAM_DELAY}. The application is
+ * started once per thread model with a deliberately small Tomcat pool, and the same closed-loop load
+ * is sent through {@code /admin/results/test/{id}} (distinct IDs, so the results cache never hits).
+ * p50/p99 latency and throughput are logged for both runs. Virtual threads need a Java 21 runtime
+ * built with {@code -Pjava21}; on Java 17 only the platform run is made.
+ * <p>
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Slf4j
+@Tag("benchmark")
+class ThreadModelBenchmarkTest {
+
+    private static final Duration UPSTREAM_DELAY = Duration.ofMillis(200);
+    private static final int TOMCAT_THREADS = 50;
+    private static final int CONCURRENCY = 200;
+    private static final int WARMUP_REQUESTS = 400;
+    private static final int MEASURED_REQUESTS = 4000;
+
+    private HttpServer resultsStub;
+    private ExecutorService stubExecutor;
+    private String jwtSecret;
+    private SecretKey jwtKey;
+
+    @BeforeEach
+    void startStub() throws IOException {
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        jwtSecret = Encoders.BASE64.encode(secret);
+        jwtKey = Keys.hmacShaKeyFor(secret);
+
+        stubExecutor = Executors.newCachedThreadPool();
+        resultsStub = HttpServer.create(new InetSocketAddress("localhost", 0), 1024);
+        resultsStub.setExecutor(stubExecutor);
+        resultsStub.createContext("/results", exchange -> {
+            try {
+                Thread.sleep(UPSTREAM_DELAY.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = "{\"data\":[{\"candidateId\":\"c1\",\"score\":7}]}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        resultsStub.start();
+    }
+
+    @AfterEach
+    void stopStub() {
+        resultsStub.stop(0);
+        stubExecutor.shutdownNow();
+    }
+
+    @Test
+    void compareThreadModels() throws Exception {
+        log.info("Runtime: Java {}", Runtime.version().feature());
+        Result platform = run(false);
+        log.info("{}", platform);
+
+        assumeTrue(Runtime.version().feature() >= 21, "virtual threads need Java 21");
+        Result virtual = run(true);
+        log.info("{}", virtual);
+    }
+
+    private Result run(boolean virtualThreads) throws Exception {
+        // passed as arguments, which take precedence over application.yaml
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(AdminServiceApplication.class).run(
+                "--server.port=0",
+                "--server.tomcat.threads.max=" + TOMCAT_THREADS,
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--spring.jmx.enabled=false",
+                "--jwt.secret=" + jwtSecret,
+                "--results-service.url=http://localhost:" + resultsStub.getAddress().getPort() + "/results",
+                "--results-service.http.max-connections=1000",
+                "--results-service.http.max-concurrent-calls=1000")) {
+            int port = Integer.parseInt(context.getEnvironment().getProperty("local.server.port"));
+            String token = Jwts.builder().subject("benchmark").claim("roles", List.of("ADMIN")).signWith(jwtKey).compact();
+
+            load(port, token, WARMUP_REQUESTS);
+            long started = System.nanoTime();
+            long[] latencies = load(port, token, MEASURED_REQUESTS);
+            long elapsed = System.nanoTime() - started;
+
+            Arrays.sort(latencies);
+            return new Result(virtualThreads ? "virtual threads" : "platform threads",
+                    percentileMillis(latencies, 0.50), percentileMillis(latencies, 0.99),
+                    MEASURED_REQUESTS / (elapsed / 1_000_000_000.0));
+        }
+    }
+
+    private long[] load(int port, String token, int requests) throws Exception {
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        long[] latencies = new long[requests];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger failures = new AtomicInteger();
+
+        ExecutorService workers = Executors.newFixedThreadPool(CONCURRENCY);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int worker = 0; worker < CONCURRENCY; worker++) {
+                futures.add(workers.submit(() -> {
+                    for (int i = next.getAndIncrement(); i < requests; i = next.getAndIncrement()) {
+                        HttpRequest request = HttpRequest.newBuilder(
+                                        URI.create("http://localhost:" + port + "/admin/results/test/t" + i + "-" + System.nanoTime()))
+                                .header("Authorization", "Bearer " + token)
+                                .build();
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                failures.incrementAndGet();
+                            }
+                        } catch (IOException | InterruptedException e) {
+                            failures.incrementAndGet();
+                        }
+                        latencies[i] = System.nanoTime() - start;
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            workers.shutdownNow();
+        }
+
+        assertEquals(0, failures.get(), "failed requests");
+        return latencies;
+    }
+
+    private static double percentileMillis(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    private record Result(String mode, double p50Millis, double p99Millis, double requestsPerSecond) {
+        @Override
+        public String toString() {
+            return String.format("%-16s p50 %7.1f ms  p99 %7.1f ms  %7.1f req/s",
+                    mode, p50Millis, p99Millis, requestsPerSecond);
+        }
+    }
+}
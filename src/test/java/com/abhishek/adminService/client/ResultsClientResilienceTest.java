@@ -0,0 +1,217 @@
+package com.abhishek.adminService.client;
+
+import com.abhishek.adminService.config.ResilienceProperties;
+import com.abhishek.adminService.exception.DownstreamUnavailableException;
+import com.sun.net.httpserver.HttpServer;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Runs {@link ResultsClient} against a local stub of results-service that fails on demand.
+ */
+class ResultsClientResilienceTest {
+
+    private static final String RESULTS = "{\"message\":\"ok\",\"data\":[{\"candidateId\":\"c1\",\"score\":7}]}";
+
+    private HttpServer server;
+    private final AtomicInteger hits = new AtomicInteger();
+    private final AtomicInteger failuresLeft = new AtomicInteger();
+    private volatile int failureStatus = 503;
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private CircuitBreaker breaker;
+    private CircuitBreaker exportBreaker;
+    private long sizeLimit = Long.MAX_VALUE;
+
+    @BeforeEach
+    void startStub() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/results", exchange -> {
+            hits.incrementAndGet();
+            boolean fail = failuresLeft.getAndUpdate(left -> left > 0 ? left - 1 : left) != 0;
+            byte[] body = (fail ? "{\"message\":\"unavailable\"}" : RESULTS).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(fail ? failureStatus : 200, 0);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopStub() {
+        server.stop(0);
+    }
+
+    @Test
+    void retriesTransientFailures() {
+        ResultsClient client = client(false);
+        failuresLeft.set(2);
+
+        List<Map<String, Object>> results = client.getTestResults("t1", "token");
+
+        assertEquals(1, results.size());
+        assertEquals(3, hits.get());
+    }
+
+    @Test
+    void doesNotRetryClientErrors() {
+        ResultsClient client = client(false);
+        failureStatus = 404;
+        failuresLeft.set(1);
+
+        assertEquals(List.of(), client.getTestResults("t1", "token"));
+        assertEquals(1, hits.get());
+    }
+
+    @Test
+    void opensCircuitAndFailsFast() {
+        ResultsClient client = client(false);
+        failureStatus = 500;
+        failuresLeft.set(-1);
+
+        for (int i = 0; i < 4; i++) {
+            assertThrows(DownstreamUnavailableException.class, () -> client.getTestResults("t1", "token"));
+        }
+        assertEquals(4, hits.get());
+
+        DownstreamUnavailableException rejected = assertThrows(DownstreamUnavailableException.class,
+                () -> client.getTestResults("t1", "token"));
+        assertEquals(4, hits.get());
+        assertEquals("results-service is unavailable: circuit breaker is open", rejected.getMessage());
+    }
+
+    @Test
+    void servesLastGoodValueWhileDown() {
+        ResultsClient client = client(true);
+        assertEquals(1, client.getTestResults("t1", "token").size());
+
+        failuresLeft.set(-1);
+        assertEquals(1, client.getTestResults("t1", "token").size());
+        assertEquals(4, hits.get());
+
+        assertThrows(DownstreamUnavailableException.class, () -> client.getTestResults("t2", "token"));
+        assertEquals(1, calls("SUCCESS"));
+        assertEquals(1, calls("STALE"));
+        assertEquals(1, calls("CIRCUIT_OPEN"));
+    }
+
+    @Test
+    void retryBudgetCapsRetries() {
+        ResilienceProperties properties = resilienceProperties(false);
+        properties.setRetryBudgetBurst(1);
+        properties.setRetryBudgetRatio(0);
+        ResultsClient client = client(properties, CircuitBreakerConfig.ofDefaults());
+        failuresLeft.set(-1);
+
+        assertThrows(DownstreamUnavailableException.class, () -> client.getTestResults("t1", "token"));
+        assertEquals(2, hits.get());
+        assertThrows(DownstreamUnavailableException.class, () -> client.getTestResults("t1", "token"));
+        assertEquals(3, hits.get());
+    }
+
+    @Test
+    void oversizedResponsesAreNeitherRetriedNorCountedAsFailures() {
+        // chunked, so the limit is only hit while the body is read
+        sizeLimit = RESULTS.length() - 1;
+        ResultsClient client = client(false);
+
+        for (int i = 0; i < 5; i++) {
+            assertThrows(DownstreamUnavailableException.class, () -> client.getTestResults("t1", "token"));
+        }
+
+        assertEquals(5, hits.get());
+        assertEquals(0, breaker.getMetrics().getNumberOfFailedCalls());
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(5, calls("TOO_LARGE"));
+    }
+
+    @Test
+    void clientDisconnectDuringExportIsNotAnUpstreamFailure() {
+        ResultsClient client = client(false);
+
+        for (int i = 0; i < 5; i++) {
+            client.exportResults("t1", "token", new HttpHeaders(), (status, headers, body) -> {
+                body.read();
+                throw new IOException("Broken pipe");
+            });
+        }
+
+        assertEquals(0, exportBreaker.getMetrics().getNumberOfFailedCalls());
+        assertEquals(CircuitBreaker.State.CLOSED, exportBreaker.getState());
+        assertEquals(1, client.getTestResults("t1", "token").size());
+    }
+
+    @Test
+    void exportFailureIsReportedBeforeAnythingIsPassedOn() {
+        ResultsClient client = client(false);
+        failuresLeft.set(1);
+        AtomicInteger handled = new AtomicInteger();
+
+        assertThrows(DownstreamUnavailableException.class, () -> client.exportResults("t1", "token",
+                new HttpHeaders(), (status, headers, body) -> handled.incrementAndGet()));
+
+        assertEquals(0, handled.get());
+        assertEquals(1, exportBreaker.getMetrics().getNumberOfFailedCalls());
+    }
+
+    private long calls(String outcome) {
+        return meterRegistry.get("http.client.calls").tag("service", "results-service").tag("outcome", outcome)
+                .timer().count();
+    }
+
+    private ResultsClient client(boolean serveStale) {
+        return client(resilienceProperties(serveStale), CircuitBreakerConfig.custom()
+                .slidingWindowSize(4)
+                .minimumNumberOfCalls(4)
+                .waitDurationInOpenState(Duration.ofMinutes(1))
+                .ignoreExceptions(HttpClientErrorException.class, ResponseTooLargeException.class)
+                .build());
+    }
+
+    private ResultsClient client(ResilienceProperties properties, CircuitBreakerConfig breakerConfig) {
+        breaker = CircuitBreaker.of("results-service", breakerConfig);
+        DownstreamGuard guard = new DownstreamGuard("results-service", breaker, properties, meterRegistry);
+        exportBreaker = CircuitBreaker.of("results-service-export", breakerConfig);
+        DownstreamGuard exportGuard = new DownstreamGuard("results-service-export", exportBreaker, properties,
+                meterRegistry);
+        ResultsClient client = new ResultsClient(RestClient.builder()
+                .requestFactory(new HttpComponentsClientHttpRequestFactory(
+                        HttpClients.custom().disableAutomaticRetries().build()))
+                .requestInterceptor(new ResponseSizeLimitInterceptor("results-service", sizeLimit))
+                .build(), guard, exportGuard);
+        ReflectionTestUtils.setField(client, "resultsServiceUrl",
+                "http://localhost:" + server.getAddress().getPort() + "/results");
+        return client;
+    }
+
+    private static ResilienceProperties resilienceProperties(boolean serveStale) {
+        ResilienceProperties properties = new ResilienceProperties();
+        properties.setInitialBackoff(Duration.ofMillis(1));
+        properties.setMaxBackoff(Duration.ofMillis(5));
+        properties.setServeStale(serveStale);
+        return properties;
+    }
+}
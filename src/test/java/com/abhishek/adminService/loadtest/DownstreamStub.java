@@ -0,0 +1,150 @@
+package com.abhishek.adminService.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process stand-in for auth-service or results-service that answers every call after a fixed
+ * latency, so load runs do not depend on the real services.
+ */
+final class DownstreamStub implements AutoCloseable {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final String basePath;
+    private final Duration latency;
+    private final AtomicInteger calls = new AtomicInteger();
+    private final AtomicLong bytes = new AtomicLong();
+    private volatile boolean batchSupported = true;
+
+    private DownstreamStub(String basePath, Duration latency) throws IOException {
+        this.basePath = basePath;
+        this.latency = latency;
+        this.executor = Executors.newCachedThreadPool();
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 1024);
+        this.server.setExecutor(executor);
+    }
+
+    /**
+     * auth-service: {@code POST /auth/users/batch} resolves every requested ID to a user, or answers
+     * 404 while the batch endpoint is switched off, and {@code GET /auth/users} returns the
+     * {@code directorySize} users {@code candidate-0}, {@code candidate-1}, ...
+     */
+    static DownstreamStub authService(Duration latency, int directorySize) throws IOException {
+        DownstreamStub stub = new DownstreamStub("/auth", latency);
+        stub.server.createContext("/auth/users/batch", exchange -> {
+            if (!stub.batchSupported) {
+                stub.reject(exchange, 404);
+                return;
+            }
+            stub.respond(exchange, () -> {
+                byte[] request = exchange.getRequestBody().readAllBytes();
+                stub.bytes.addAndGet(request.length);
+                List<?> ids = MAPPER.readValue(request, List.class);
+                List<Map<String, String>> users = new ArrayList<>(ids.size());
+                for (Object id : ids) {
+                    users.add(user(id.toString()));
+                }
+                return Map.of("message", "Users fetched", "data", users);
+            });
+        });
+        stub.server.createContext("/auth/users", exchange -> stub.respond(exchange, () -> {
+            List<Map<String, String>> users = new ArrayList<>(directorySize);
+            for (int i = 0; i < directorySize; i++) {
+                users.add(user("candidate-" + i));
+            }
+            return Map.of("message", "Users fetched", "data", users);
+        }));
+        stub.server.start();
+        return stub;
+    }
+
+    /**
+     * results-service: every lookup returns one result row.
+     */
+    static DownstreamStub resultsService(Duration latency) throws IOException {
+        DownstreamStub stub = new DownstreamStub("/results", latency);
+        stub.server.createContext("/results", exchange -> stub.respond(exchange,
+                () -> Map.of("data", List.of(Map.of("candidateId", "c1", "score", 7)))));
+        stub.server.start();
+        return stub;
+    }
+
+    String url() {
+        return "http://localhost:" + server.getAddress().getPort() + basePath;
+    }
+
+    int calls() {
+        return calls.get();
+    }
+
+    /**
+     * Request and response body bytes exchanged so far.
+     */
+    long bytes() {
+        return bytes.get();
+    }
+
+    void setBatchSupported(boolean batchSupported) {
+        this.batchSupported = batchSupported;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void respond(HttpExchange exchange, Body body) throws IOException {
+        calls.incrementAndGet();
+        try {
+            Thread.sleep(latency.toMillis());
+            byte[] json = MAPPER.writeValueAsBytes(body.get());
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, json.length);
+            bytes.addAndGet(json.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(json);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            exchange.sendResponseHeaders(503, -1);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void reject(HttpExchange exchange, int status) throws IOException {
+        calls.incrementAndGet();
+        try {
+            // an unread request body would break the kept-alive connection for the next call
+            exchange.getRequestBody().readAllBytes();
+            exchange.sendResponseHeaders(status, -1);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static Map<String, String> user(String id) {
+        return Map.of("id", id, "name", "Candidate " + id, "email", id + "@example.com");
+    }
+
+    private interface Body {
+        Object get() throws IOException;
+    }
+}
@@ -0,0 +1,107 @@
+package com.abhishek.adminService.loadtest;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+/**
+ * Closed-loop load generator: {@code concurrency} workers wait for a common start signal and then
+ * send requests back to back until {@code requests} have been sent. Non-2xx responses and I/O errors
+ * count as failures. {@link #measure} drives in-process calls the same way.
+ */
+final class LoadDriver {
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+
+    Report run(String scenario, int requests, int concurrency, IntFunction<HttpRequest> request) throws Exception {
+        return measure(scenario, requests, concurrency, i -> {
+            HttpRequest httpRequest = request.apply(i);
+            return () -> client.send(httpRequest, HttpResponse.BodyHandlers.discarding()).statusCode() / 100 == 2;
+        });
+    }
+
+    /**
+     * Runs the prepared calls; a call fails by returning {@code false} or throwing an I/O or runtime
+     * exception. Only the call itself is timed, not preparing it.
+     */
+    Report measure(String scenario, int requests, int concurrency, IntFunction<Callable<Boolean>> prepare)
+            throws Exception {
+        long[] latencies = new long[requests];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger failures = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        long elapsed;
+        try {
+            List<Future<?>> futures = new ArrayList<>(concurrency);
+            for (int worker = 0; worker < concurrency; worker++) {
+                futures.add(workers.submit(() -> {
+                    start.await();
+                    for (int i = next.getAndIncrement(); i < requests; i = next.getAndIncrement()) {
+                        Callable<Boolean> call = prepare.apply(i);
+                        long sent = System.nanoTime();
+                        try {
+                            if (!call.call()) {
+                                failures.incrementAndGet();
+                            }
+                        } catch (IOException | RuntimeException e) {
+                            failures.incrementAndGet();
+                        }
+                        latencies[i] = System.nanoTime() - sent;
+                    }
+                    return null;
+                }));
+            }
+
+            // T0: every worker fires at once
+            long started = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            elapsed = System.nanoTime() - started;
+        } finally {
+            workers.shutdownNow();
+        }
+
+        Arrays.sort(latencies);
+        return new Report(scenario, requests, failures.get(), Duration.ofNanos(elapsed),
+                percentileMillis(latencies, 0.50), percentileMillis(latencies, 0.99),
+                percentileMillis(latencies, 0.999));
+    }
+
+    private static double percentileMillis(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    record Report(String scenario, int requests, int failures, Duration elapsed,
+                  double p50Millis, double p99Millis, double p999Millis) {
+
+        double requestsPerSecond() {
+            return requests / (elapsed.toNanos() / 1_000_000_000.0);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-28s %7d req  %5d failed  %8.1f req/s  p50 %7.1f ms  p99 %7.1f ms  p999 %7.1f ms",
+                    scenario, requests, failures, requestsPerSecond(), p50Millis, p99Millis, p999Millis);
+        }
+    }
+}
@@ -0,0 +1,304 @@
+package com.abhishek.adminService.loadtest;
+
+import com.abhishek.adminService.AdminServiceApplication;
+import com.abhishek.adminService.client.AuthClient;
+import com.abhishek.adminService.model.Category;
+import com.abhishek.adminService.model.OutboxEvent;
+import com.abhishek.adminService.model.Question;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Encoders;
+import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * End-to-end load scenarios against the full application.
+ * <p>
+ * The service runs in-process with an in-memory Mongo (mongo-java-server, which speaks the wire
+ * protocol but is not tuned like mongod, so absolute numbers are pessimistic for Mongo-bound work),
+ * an embedded Artemis broker and stubs for auth-service and results-service that answer after a
+ * configurable latency. Each scenario logs throughput and p50/p99/p999 latency.
+ * <p>
+ * Run with {@code mvn test -Ploadtest}; sizes and latencies are system properties:
+ * <ul>
+ *     <li>{@code loadtest.paper.candidates} (10000) and {@code loadtest.paper.concurrency} (200):
+ *     candidates fetching the paper of a scheduled test, all starting at the same instant</li>
+ *     <li>{@code loadtest.assign.candidates} (100000), {@code loadtest.assign.batch} (1000) and
+ *     {@code loadtest.assign.concurrency} (4): admins bulk-assigning candidates, followed by the wait
+ *     until every assignment notification has left the outbox</li>
+ *     <li>{@code loadtest.lookup.requests} (200), {@code loadtest.lookup.ids} (1000),
+ *     {@code loadtest.lookup.concurrency} (4) and {@code loadtest.auth.users} (20000): user lookups
+ *     through auth-service's batch endpoint and through the full user list it falls back to, with the
+ *     bytes each transfers</li>
+ *     <li>{@code loadtest.auth.latency-ms} (20) and {@code loadtest.results.latency-ms} (50)</li>
+ * </ul>
+ */
+@Slf4j
+@Tag("loadtest")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class LoadScenariosTest {
+
+    private static final int PAPER_CANDIDATES = Integer.getInteger("loadtest.paper.candidates", 10_000);
+    private static final int PAPER_CONCURRENCY = Integer.getInteger("loadtest.paper.concurrency", 200);
+    private static final int ASSIGN_CANDIDATES = Integer.getInteger("loadtest.assign.candidates", 100_000);
+    private static final int ASSIGN_BATCH = Integer.getInteger("loadtest.assign.batch", 1000);
+    private static final int ASSIGN_CONCURRENCY = Integer.getInteger("loadtest.assign.concurrency", 4);
+    private static final int LOOKUP_REQUESTS = Integer.getInteger("loadtest.lookup.requests", 200);
+    private static final int LOOKUP_IDS = Integer.getInteger("loadtest.lookup.ids", 1000);
+    private static final int LOOKUP_CONCURRENCY = Integer.getInteger("loadtest.lookup.concurrency", 4);
+    private static final int AUTH_USERS = Integer.getInteger("loadtest.auth.users", 20_000);
+    private static final Duration AUTH_LATENCY = Duration.ofMillis(Integer.getInteger("loadtest.auth.latency-ms", 20));
+    private static final Duration RESULTS_LATENCY = Duration.ofMillis(Integer.getInteger("loadtest.results.latency-ms", 50));
+    private static final Duration OUTBOX_DRAIN_TIMEOUT = Duration.ofMinutes(5);
+    private static final int QUESTIONS = 50;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final LoadDriver driver = new LoadDriver();
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    private MongoServer mongo;
+    private DownstreamStub authService;
+    private DownstreamStub resultsService;
+    private ConfigurableApplicationContext context;
+    private MongoTemplate mongoTemplate;
+    private SecretKey jwtKey;
+    private String baseUrl;
+    private String adminToken;
+
+    @BeforeAll
+    void start() throws Exception {
+        mongo = new MongoServer(new MemoryBackend());
+        mongo.bind("localhost", 0);
+        InetSocketAddress mongoAddress = mongo.getLocalAddress();
+        authService = DownstreamStub.authService(AUTH_LATENCY, AUTH_USERS);
+        resultsService = DownstreamStub.resultsService(RESULTS_LATENCY);
+
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        jwtKey = Keys.hmacShaKeyFor(secret);
+
+        // passed as arguments, which take precedence over application.yaml
+        context = new SpringApplicationBuilder(AdminServiceApplication.class).run(
+                "--server.port=0",
+                "--spring.jmx.enabled=false",
+                "--spring.data.mongodb.uri=mongodb://localhost:" + mongoAddress.getPort() + "/loadtest",
+                "--spring.artemis.mode=embedded",
+                "--spring.artemis.embedded.queues=test.assigned,test.scheduled",
+                "--jwt.secret=" + Encoders.BASE64.encode(secret),
+                "--auth-service.url=" + authService.url(),
+                "--results-service.url=" + resultsService.url(),
+                // request logging would dominate the measurements
+                "--logging.level.com.abhishek.adminService=WARN",
+                "--logging.level.com.abhishek.adminService.loadtest=INFO",
+                "--logging.level.de.bwaldvogel.mongo=ERROR");
+        mongoTemplate = context.getBean(MongoTemplate.class);
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/admin";
+        adminToken = token("load-admin", "ADMIN");
+    }
+
+    @AfterAll
+    void stop() {
+        if (context != null) {
+            context.close();
+        }
+        authService.close();
+        resultsService.close();
+        mongo.shutdownNow();
+    }
+
+    @Test
+    void candidatesFetchPaperAtT0() throws Exception {
+        String testId = seedTest("paper");
+        post("/tests/" + testId + "/schedule", "");
+
+        List<String> tokens = new ArrayList<>(PAPER_CANDIDATES);
+        for (int i = 0; i < PAPER_CANDIDATES; i++) {
+            tokens.add(token("candidate-" + i, "CANDIDATE"));
+        }
+
+        URI paper = URI.create(baseUrl + "/tests/" + testId + "/paper");
+        LoadDriver.Report report = driver.run("paper fetch at T0", PAPER_CANDIDATES, PAPER_CONCURRENCY,
+                i -> HttpRequest.newBuilder(paper).header("Authorization", "Bearer " + tokens.get(i)).build());
+
+        log.info("{}", report);
+        assertEquals(0, report.failures(), "failed requests");
+    }
+
+    @Test
+    void bulkAssign() throws Exception {
+        String testId = seedTest("assign");
+        int batches = (ASSIGN_CANDIDATES + ASSIGN_BATCH - 1) / ASSIGN_BATCH;
+        URI assign = URI.create(baseUrl + "/tests/" + testId + "/assign");
+        int authCallsBefore = authService.calls();
+
+        LoadDriver.Report report = driver.run("bulk assign (per request)", batches, ASSIGN_CONCURRENCY, batch -> {
+            List<String> candidateIds = new ArrayList<>(ASSIGN_BATCH);
+            for (int i = batch * ASSIGN_BATCH; i < Math.min(ASSIGN_CANDIDATES, (batch + 1) * ASSIGN_BATCH); i++) {
+                candidateIds.add("candidate-" + i);
+            }
+            return HttpRequest.newBuilder(assign)
+                    .header("Authorization", "Bearer " + adminToken)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(json(Map.of("candidateIds", candidateIds))))
+                    .build();
+        });
+
+        long drainStarted = System.nanoTime();
+        long pending = awaitOutboxDrained();
+        Duration drain = Duration.ofNanos(System.nanoTime() - drainStarted);
+
+        log.info("{}", report);
+        log.info(String.format("bulk assign: %.0f candidates/s, %d auth-service calls, outbox drained %.1f s later",
+                ASSIGN_CANDIDATES / (report.elapsed().toNanos() / 1_000_000_000.0),
+                authService.calls() - authCallsBefore, drain.toMillis() / 1000.0));
+        assertEquals(0, report.failures(), "failed requests");
+        assertEquals(0, pending, "events left in the outbox");
+    }
+
+    @Test
+    void userLookupBatchVersusFullList() throws Exception {
+        AuthClient authClient = context.getBean(AuthClient.class);
+
+        LookupRun batch = lookUpUsers("user lookup (batch)", authClient);
+        LookupRun fullList;
+        authService.setBatchSupported(false);
+        try {
+            fullList = lookUpUsers("user lookup (404, full list)", authClient);
+        } finally {
+            authService.setBatchSupported(true);
+            ReflectionTestUtils.setField(authClient, "batchUnavailableUntil", Instant.MIN);
+        }
+
+        for (LookupRun run : List.of(batch, fullList)) {
+            log.info("{}", run.report());
+            log.info(String.format("%s: %d auth-service calls, %.1f KB transferred per lookup",
+                    run.report().scenario(), run.calls(), run.bytes() / 1024.0 / LOOKUP_REQUESTS));
+            assertEquals(0, run.report().failures(), "lookups with missing users");
+        }
+    }
+
+    /**
+     * Looks up {@code loadtest.lookup.ids} distinct users per call; a call fails unless every one of
+     * them is resolved.
+     */
+    private LookupRun lookUpUsers(String scenario, AuthClient authClient) throws Exception {
+        int callsBefore = authService.calls();
+        long bytesBefore = authService.bytes();
+        LoadDriver.Report report = driver.measure(scenario, LOOKUP_REQUESTS, LOOKUP_CONCURRENCY, call -> {
+            List<String> userIds = new ArrayList<>(LOOKUP_IDS);
+            int first = ThreadLocalRandom.current().nextInt(AUTH_USERS);
+            for (int i = 0; i < Math.min(LOOKUP_IDS, AUTH_USERS); i++) {
+                userIds.add("candidate-" + (first + i) % AUTH_USERS);
+            }
+            return () -> authClient.fetchUsersByIds(userIds, adminToken).size() == userIds.size();
+        });
+        return new LookupRun(report, authService.calls() - callsBefore, authService.bytes() - bytesBefore);
+    }
+
+    private record LookupRun(LoadDriver.Report report, int calls, long bytes) {
+    }
+
+    private String seedTest(String name) {
+        Category category = new Category();
+        category.setName(name);
+        category = mongoTemplate.insert(category);
+
+        List<Question> questions = new ArrayList<>(QUESTIONS);
+        for (int i = 0; i < QUESTIONS; i++) {
+            Question question = new Question();
+            question.setCategoryId(category.getId());
+            question.setDifficulty("MEDIUM");
+            question.setText("Question " + i + " of the " + name + " load test?");
+            List<Question.Option> options = new ArrayList<>(4);
+            for (char id = 'a'; id <= 'd'; id++) {
+                Question.Option option = new Question.Option();
+                option.setId(String.valueOf(id));
+                option.setText("Option " + id);
+                options.add(option);
+            }
+            question.setOptions(options);
+            question.setCorrectOptionId("a");
+            question.setCreatedAt(Instant.now());
+            question.setCreatedBy("load-admin");
+            questions.add(question);
+        }
+        List<String> questionIds = mongoTemplate.insertAll(questions).stream().map(Question::getId).toList();
+
+        LocalDateTime startAt = LocalDateTime.now(ZoneOffset.UTC).plusHours(1);
+        com.abhishek.adminService.model.Test test = new com.abhishek.adminService.model.Test();
+        test.setName(name + " load test");
+        test.setCategoryIds(List.of(category.getId()));
+        test.setQuestionIds(questionIds);
+        test.setDurationMinutes(60);
+        test.setStartAt(startAt);
+        test.setEndAt(startAt.plusHours(2));
+        return mongoTemplate.insert(test).getId();
+    }
+
+    private long awaitOutboxDrained() throws InterruptedException {
+        long deadline = System.nanoTime() + OUTBOX_DRAIN_TIMEOUT.toNanos();
+        long pending = mongoTemplate.count(new Query(), OutboxEvent.class);
+        while (pending > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+            pending = mongoTemplate.count(new Query(), OutboxEvent.class);
+        }
+        return pending;
+    }
+
+    private void post(String path, String body) throws Exception {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + path))
+                        .header("Authorization", "Bearer " + adminToken)
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, response.statusCode(), response.body());
+    }
+
+    private String json(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String token(String subject, String role) {
+        return Jwts.builder()
+                .subject(subject)
+                .claim("roles", List.of(role))
+                .expiration(new Date(System.currentTimeMillis() + Duration.ofHours(1).toMillis()))
+                .signWith(jwtKey)
+                .compact();
+    }
+}
@@ -0,0 +1,75 @@
+package com.abhishek.adminService.security;
+
+import com.abhishek.adminService.util.JwtUtil;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Encoders;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.SecretKey;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class VerifiedTokenCacheTest {
+
+    private SecretKey key;
+    private VerifiedTokenCache cache;
+
+    @BeforeEach
+    void setUp() {
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        key = Keys.hmacShaKeyFor(secret);
+        cache = new VerifiedTokenCache(new JwtUtil(Encoders.BASE64.encode(secret)), 100, Duration.ofMinutes(5),
+                new SimpleMeterRegistry());
+    }
+
+    @Test
+    void reusesVerificationAndSharesAuthorities() {
+        String token = token("u1", new Date(System.currentTimeMillis() + 60_000));
+
+        VerifiedTokenCache.VerifiedToken first = cache.verify(token);
+        assertEquals("u1", first.userId());
+        assertEquals("ROLE_ADMIN", first.authorities().iterator().next().getAuthority());
+        assertSame(first, cache.verify(token));
+
+        VerifiedTokenCache.VerifiedToken other = cache.verify(token("u2", new Date(System.currentTimeMillis() + 60_000)));
+        assertSame(first.authorities(), other.authorities());
+    }
+
+    @Test
+    void rejectsTamperedAndExpiredTokens() {
+        String token = token("u1", new Date(System.currentTimeMillis() + 60_000));
+        cache.verify(token);
+
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+        assertThrows(JwtException.class, () -> cache.verify(tampered));
+        assertThrows(JwtException.class, () -> cache.verify(token("u1", new Date(System.currentTimeMillis() - 60_000))));
+    }
+
+    @Test
+    void doesNotCacheTokensWithoutExpiry() {
+        String token = token("u1", null);
+
+        assertNotSame(cache.verify(token), cache.verify(token));
+    }
+
+    private String token(String subject, Date expiration) {
+        return Jwts.builder()
+                .subject(subject)
+                .claim("roles", List.of("ADMIN"))
+                .expiration(expiration)
+                .signWith(key)
+                .compact();
+    }
+}
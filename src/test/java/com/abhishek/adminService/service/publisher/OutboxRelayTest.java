@@ -0,0 +1,191 @@
+package com.abhishek.adminService.service.publisher;
+
+import com.abhishek.adminService.dto.event.TestAssignedEvent;
+import com.abhishek.adminService.dto.event.TestScheduledEvent;
+import com.abhishek.adminService.model.OutboxEvent;
+import com.abhishek.adminService.repository.OutboxEventRepository;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import jakarta.jms.ConnectionFactory;
+import jakarta.jms.Message;
+import jakarta.jms.TextMessage;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jms.core.JmsTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Relays outbox events into an embedded Artemis broker. The events are handed to the relay directly
+ * and the outbox repository is mocked, so the test does not need Mongo. Spans are collected in memory.
+ */
+@SpringBootTest(properties = {
+        "spring.artemis.mode=embedded",
+        "spring.artemis.embedded.queues=test.assigned,test.scheduled",
+        "management.tracing.sampling.probability=1.0"
+})
+@AutoConfigureObservability(metrics = false)
+class OutboxRelayTest {
+
+    @TestConfiguration
+    static class InMemoryTracing {
+        @Bean
+        InMemorySpanExporter inMemorySpanExporter() {
+            return InMemorySpanExporter.create();
+        }
+    }
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private NotificationPublisher notificationPublisher;
+
+    @Autowired
+    private ConnectionFactory connectionFactory;
+
+    @Autowired
+    private ObservationRegistry observationRegistry;
+
+    @Autowired
+    private SdkTracerProvider tracerProvider;
+
+    @Autowired
+    private InMemorySpanExporter spanExporter;
+
+    @MockitoBean
+    private OutboxEventRepository outboxRepository;
+
+    @Test
+    void deliversInOrderAndDropsRedeliveredDuplicates() throws Exception {
+        List<OutboxEvent> batch = List.of(
+                event("e1", "t1", "test.assigned", TestAssignedEvent.class),
+                event("e2", "t2", "test.scheduled", TestScheduledEvent.class),
+                event("e3", "t1", "test.assigned", TestAssignedEvent.class));
+
+        assertEquals(3, outboxRelay.send(batch));
+        // as after a crash between the broker commit and the outbox delete
+        assertEquals(3, outboxRelay.send(batch));
+
+        JmsTemplate receiver = new JmsTemplate(connectionFactory);
+        receiver.setReceiveTimeout(2000);
+        assertReceived(receiver.receive("test.assigned"), "e1", TestAssignedEvent.class);
+        assertReceived(receiver.receive("test.assigned"), "e3", TestAssignedEvent.class);
+        assertReceived(receiver.receive("test.scheduled"), "e2", TestScheduledEvent.class);
+
+        receiver.setReceiveTimeout(500);
+        assertNull(receiver.receive("test.assigned"));
+        assertNull(receiver.receive("test.scheduled"));
+    }
+
+    @Test
+    void waitsForAMissingSequenceNumberUntilTheGapTimesOut() {
+        Instant now = Instant.now();
+        OutboxEvent first = sequenced("e1", 1, now);
+        OutboxEvent afterGap = sequenced("e3", 3, now);
+
+        // e2 has its number but is not visible yet
+        assertEquals(1, outboxRelay.readyPrefix(List.of(first, afterGap), 0, now));
+        assertEquals(0, outboxRelay.readyPrefix(List.of(afterGap), 1, now));
+        // nothing relayed yet on this node, so there is nothing to be out of order with
+        assertEquals(1, outboxRelay.readyPrefix(List.of(afterGap), 0, now));
+        // e2 was never written
+        assertEquals(2, outboxRelay.readyPrefix(List.of(first, afterGap), 0, now.plusSeconds(60)));
+    }
+
+    @Test
+    void continuesTheTraceOfTheRequestThatRaisedTheEvent() throws Exception {
+        TestAssignedEvent assigned = new TestAssignedEvent();
+        assigned.setTestId("t9");
+        assigned.setCandidates(List.of(new TestAssignedEvent.CandidateInfo(), new TestAssignedEvent.CandidateInfo()));
+
+        Observation request = Observation.start("assign request", observationRegistry);
+        try (Observation.Scope ignored = request.openScope()) {
+            notificationPublisher.publishTestAssignedEvent(assigned);
+        } finally {
+            request.stop();
+        }
+        ArgumentCaptor<OutboxEvent> written = ArgumentCaptor.forClass(OutboxEvent.class);
+        verify(outboxRepository).insert(written.capture());
+        OutboxEvent event = written.getValue();
+        event.setId("e9");
+
+        // relayed later, on another thread
+        assertEquals(1, outboxRelay.send(List.of(event)));
+        JmsTemplate receiver = new JmsTemplate(connectionFactory);
+        receiver.setReceiveTimeout(2000);
+        Message message = receiver.receive("test.assigned");
+        assertNotNull(message);
+        tracerProvider.forceFlush().join(5, TimeUnit.SECONDS);
+
+        SpanData root = span("assign request");
+        SpanData append = span("outbox append test.assigned");
+        SpanData relay = span("outbox relay test.assigned");
+        assertEquals(root.getSpanId(), append.getParentSpanId());
+        assertEquals("t9", append.getAttributes().get(AttributeKey.stringKey("test.id")));
+        assertEquals("2", append.getAttributes().get(AttributeKey.stringKey("candidate.count")));
+        assertEquals(append.getSpanId(), relay.getParentSpanId());
+        assertEquals(SpanKind.CONSUMER, relay.getKind());
+        assertEquals("t9", relay.getAttributes().get(AttributeKey.stringKey("test.id")));
+
+        // the JMS send under the relay span hands the trace on to the notification service
+        String traceparent = message.getStringProperty("traceparent");
+        assertNotNull(traceparent);
+        assertTrue(traceparent.contains(root.getTraceId()), traceparent);
+    }
+
+    private SpanData span(String name) {
+        return spanExporter.getFinishedSpanItems().stream()
+                .filter(span -> span.getName().equals(name))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("no span " + name + " in " + spanExporter.getFinishedSpanItems()));
+    }
+
+    private static void assertReceived(Message message, String id, Class<?> type) throws Exception {
+        assertNotNull(message, "missing event " + id);
+        assertEquals(payload(id), ((TextMessage) message).getText());
+        assertEquals(type.getName(), message.getStringProperty("_type"));
+        assertEquals(id, message.getStringProperty("_AMQ_DUPL_ID"));
+    }
+
+    private static OutboxEvent event(String id, String testId, String destination, Class<?> type) {
+        OutboxEvent event = new OutboxEvent();
+        event.setId(id);
+        event.setTestId(testId);
+        event.setDestination(destination);
+        event.setType(type.getName());
+        event.setPayload(payload(id));
+        event.setCreatedAt(Instant.now());
+        return event;
+    }
+
+    private static OutboxEvent sequenced(String id, long sequence, Instant createdAt) {
+        OutboxEvent event = event(id, "t1", "test.assigned", TestAssignedEvent.class);
+        event.setSequence(sequence);
+        event.setCreatedAt(createdAt);
+        return event;
+    }
+
+    private static String payload(String id) {
+        return "{\"testId\":\"" + id + "\"}";
+    }
+}
@@ -0,0 +1,86 @@
+package com.abhishek.adminService.service.scheduler;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Runs a small, fast wheel (20 ms ticks, 4 slots, so one revolution is 80 ms) in real time.
+ */
+class HashedTimingWheelTest {
+
+    private static final Duration TICK = Duration.ofMillis(20);
+
+    private final BlockingQueue<Batch> fired = new LinkedBlockingQueue<>();
+    private final HashedTimingWheel<String> wheel = new HashedTimingWheel<>("test-wheel", TICK, 4,
+            expired -> fired.add(new Batch(Instant.now(), expired.stream().map(HashedTimingWheel.Timeout::task).toList())));
+
+    @AfterEach
+    void stopWheel() {
+        wheel.stop();
+    }
+
+    @Test
+    void firesEverythingDueInTheSameTickAsOneBatch() throws InterruptedException {
+        wheel.start();
+        Instant deadline = Instant.now().plusMillis(50);
+        wheel.add("a", deadline);
+        wheel.add("b", deadline);
+        assertEquals(2, wheel.size());
+
+        Batch batch = fired.poll(1, TimeUnit.SECONDS);
+        assertNotNull(batch);
+        assertEquals(List.of("a", "b"), batch.tasks());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void waitsFurtherRevolutionsForDeadlinesBeyondOneRound() throws InterruptedException {
+        wheel.start();
+        Instant deadline = Instant.now().plusMillis(250); // three revolutions and a bit
+        wheel.add("later", deadline);
+
+        Batch batch = fired.poll(1, TimeUnit.SECONDS);
+        assertNotNull(batch);
+        assertEquals(List.of("later"), batch.tasks());
+        assertFalse(batch.at().isBefore(deadline.minus(TICK)), "fired at " + batch.at() + ", due " + deadline);
+    }
+
+    @Test
+    void firesOverdueEntriesOnTheNextTick() throws InterruptedException {
+        wheel.start();
+        wheel.add("overdue", Instant.now().minusSeconds(5));
+
+        Batch batch = fired.poll(1, TimeUnit.SECONDS);
+        assertNotNull(batch);
+        assertEquals(List.of("overdue"), batch.tasks());
+    }
+
+    @Test
+    void dropsCancelledEntries() throws InterruptedException {
+        wheel.start();
+        HashedTimingWheel.Timeout<String> cancelled = wheel.add("cancelled", Instant.now().plusMillis(60));
+        wheel.add("kept", Instant.now().plusMillis(100));
+        cancelled.cancel();
+
+        Batch batch = fired.poll(1, TimeUnit.SECONDS);
+        assertNotNull(batch);
+        assertEquals(List.of("kept"), batch.tasks());
+        assertNull(fired.poll(200, TimeUnit.MILLISECONDS));
+        assertEquals(0, wheel.size());
+    }
+
+    private record Batch(Instant at, List<String> tasks) {
+    }
+}
@@ -0,0 +1,125 @@
+package com.abhishek.adminService.service.scheduler;
+
+import com.abhishek.adminService.model.ScheduledTransition;
+import com.abhishek.adminService.repository.ScheduledTransitionRepository;
+import com.abhishek.adminService.repository.TestRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Drives the lease, fire and complete cycle against mocked repositories with a real timing wheel.
+ */
+class TestLifecycleSchedulerTest {
+
+    private final ScheduledTransitionRepository transitionRepository = mock(ScheduledTransitionRepository.class);
+    private final TestRepository testRepository = mock(TestRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private TestLifecycleScheduler scheduler;
+
+    @BeforeEach
+    void startScheduler() {
+        scheduler = new TestLifecycleScheduler(transitionRepository, testRepository, meterRegistry,
+                new MockEnvironment());
+        ReflectionTestUtils.setField(scheduler, "lease", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(scheduler, "lookahead", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(scheduler, "batchSize", 500);
+        ReflectionTestUtils.setField(scheduler, "tick", Duration.ofMillis(10));
+        ReflectionTestUtils.setField(scheduler, "wheelSize", 16);
+        scheduler.startWheel();
+    }
+
+    @AfterEach
+    void stopScheduler() {
+        scheduler.stopWheel();
+    }
+
+    @Test
+    void appliesAndCompletesOnlyTheTransitionsStillLeasedUnderTheirClaim() throws InterruptedException {
+        Instant now = Instant.now();
+        ScheduledTransition start = transition("t1", ScheduledTransition.Type.START, "claim-1", now);
+        ScheduledTransition end = transition("t2", ScheduledTransition.Type.END, "claim-1", now);
+        // rescheduled and claimed again (here: by this node) after we leased it
+        ScheduledTransition reclaimed = transition("t3", ScheduledTransition.Type.START, "claim-1", now);
+        // cancelled in the meantime
+        ScheduledTransition cancelled = transition("t4", ScheduledTransition.Type.END, "claim-1", now);
+
+        when(transitionRepository.claimDue(any(), anyString(), any(), anyInt()))
+                .thenReturn(List.of(start, end, reclaimed, cancelled));
+        when(transitionRepository.findLeaseTokens(anyCollection(), anyString())).thenReturn(Map.of(
+                start.getId(), "claim-1",
+                end.getId(), "claim-1",
+                reclaimed.getId(), "claim-2"));
+
+        scheduler.poll();
+
+        verify(testRepository, timeout(2000)).activateAll(List.of("t1"));
+        verify(testRepository, timeout(2000)).deactivateAll(List.of("t2"));
+        verify(transitionRepository, timeout(2000)).complete(Map.of(
+                start.getId(), "claim-1",
+                end.getId(), "claim-1"));
+        // counted right after the completion
+        awaitCount(ScheduledTransition.Type.END, "lease_lost", 1);
+        assertEquals(1, count(ScheduledTransition.Type.START, "applied"));
+        assertEquals(1, count(ScheduledTransition.Type.END, "applied"));
+        assertEquals(1, count(ScheduledTransition.Type.START, "lease_lost"));
+        assertEquals(1, count(ScheduledTransition.Type.END, "lease_lost"));
+    }
+
+    @Test
+    void cancelledTransitionsNeverFire() throws InterruptedException {
+        ScheduledTransition start = transition("t1", ScheduledTransition.Type.START, "claim-1",
+                Instant.now().plusMillis(200));
+        when(transitionRepository.claimDue(any(), anyString(), any(), anyInt())).thenReturn(List.of(start));
+
+        scheduler.poll();
+        scheduler.cancel("t1");
+        Thread.sleep(400);
+
+        verify(transitionRepository, timeout(2000).times(0)).findLeaseTokens(anyCollection(), anyString());
+        assertEquals(0, count(ScheduledTransition.Type.START, "applied"));
+    }
+
+    private void awaitCount(ScheduledTransition.Type type, String outcome, double expected) throws InterruptedException {
+        for (int i = 0; i < 200 && count(type, outcome) < expected; i++) {
+            Thread.sleep(10);
+        }
+    }
+
+    private double count(ScheduledTransition.Type type, String outcome) {
+        var counter = meterRegistry.find("test.schedule.transitions")
+                .tag("type", type.name())
+                .tag("outcome", outcome)
+                .counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private static ScheduledTransition transition(String testId, ScheduledTransition.Type type, String claimToken,
+                                                  Instant fireAt) {
+        ScheduledTransition transition = new ScheduledTransition();
+        transition.setId(ScheduledTransition.idOf(testId, type));
+        transition.setTestId(testId);
+        transition.setType(type);
+        transition.setFireAt(fireAt);
+        transition.setClaimToken(claimToken);
+        return transition;
+    }
+}